@@ -34,9 +34,10 @@ import com.skydoves.colorpickerview.ColorPickerDialog;
 import com.skydoves.colorpickerview.ColorPickerView;
 import com.skydoves.colorpickerview.flag.BubbleFlag;
 import com.skydoves.colorpickerview.flag.FlagMode;
+import com.skydoves.colorpickerview.flag.FlagViewPool;
 import com.skydoves.colorpickerview.listeners.ColorEnvelopeListener;
 import com.skydoves.colorpickerview.sliders.AlphaSlideBar;
-import com.skydoves.colorpickerview.sliders.BrightnessSlideBar;
+import com.skydoves.colorpickerview.sliders.SlideBar;
 import com.skydoves.powermenu.OnMenuItemClickListener;
 import com.skydoves.powermenu.PowerMenu;
 import com.skydoves.powermenu.PowerMenuItem;
@@ -47,6 +48,7 @@ import timber.log.Timber;
 public class MainActivity extends AppCompatActivity {
 
   private ColorPickerView colorPickerView;
+  private FlagViewPool<BubbleFlag> bubbleFlagPool;
 
   private boolean FLAG_PALETTE = false;
   private boolean FLAG_SELECTOR = false;
@@ -82,6 +84,9 @@ public class MainActivity extends AppCompatActivity {
 
     powerMenu = PowerMenuUtils.getPowerMenu(this, this, powerMenuItemClickListener);
 
+    bubbleFlagPool = BubbleFlag.newPool(this, 1);
+    bubbleFlagPool.prewarm();
+
     colorPickerView = findViewById(R.id.colorPickerView);
     BubbleFlag bubbleFlag = new BubbleFlag(this);
     bubbleFlag.setFlagMode(FlagMode.FADE);
@@ -95,12 +100,11 @@ public class MainActivity extends AppCompatActivity {
 
     // attach alphaSlideBar
     final AlphaSlideBar alphaSlideBar = findViewById(R.id.alphaSlideBar);
-    colorPickerView.attachAlphaSlider(alphaSlideBar);
+    colorPickerView.attachSlideBar(alphaSlideBar);
 
     // attach brightnessSlideBar
-    final BrightnessSlideBar brightnessSlideBar = findViewById(R.id.brightnessSlide);
-    colorPickerView.attachBrightnessSlider(brightnessSlideBar);
-    colorPickerView.setLifecycleOwner(this);
+    final SlideBar brightnessSlideBar = findViewById(R.id.brightnessSlide);
+    colorPickerView.attachSlideBar(brightnessSlideBar);
   }
 
   /**
@@ -160,7 +164,13 @@ public class MainActivity extends AppCompatActivity {
                 (ColorEnvelopeListener) (envelope, fromUser) -> setLayoutColor(envelope))
             .setNegativeButton(
                 getString(R.string.cancel), (dialogInterface, i) -> dialogInterface.dismiss());
-    builder.getColorPickerView().setFlagView(new BubbleFlag(this));
+    BubbleFlag bubbleFlag = bubbleFlagPool.acquire();
+    builder.getColorPickerView().setFlagView(bubbleFlag);
+    builder.setOnDismissListener(
+        dialogInterface -> {
+          builder.getColorPickerView().setFlagView(null);
+          bubbleFlagPool.release(bubbleFlag);
+        });
     builder.show();
   }
 
@@ -177,6 +187,13 @@ public class MainActivity extends AppCompatActivity {
           final Bitmap selectedImage = BitmapFactory.decodeStream(imageStream);
           Drawable drawable = new BitmapDrawable(getResources(), selectedImage);
           colorPickerView.setPaletteDrawable(drawable);
+          colorPickerView.extractDominantColors(
+              5,
+              swatches -> {
+                for (int i = 0; i < swatches.size(); i++) {
+                  Timber.d("#%08X (%d)", swatches.getColor(i), swatches.getPopulation(i));
+                }
+              });
         }
       } catch (FileNotFoundException e) {
         e.printStackTrace();
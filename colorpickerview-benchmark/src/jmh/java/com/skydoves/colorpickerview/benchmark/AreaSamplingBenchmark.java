@@ -0,0 +1,114 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+package com.skydoves.colorpickerview.benchmark;
+
+import com.skydoves.colorpickerview.core.ColorMath;
+import com.skydoves.colorpickerview.core.PaletteRaster;
+import com.skydoves.colorpickerview.core.SummedAreaTable;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks averaging a kernel around a point of a noisy 1024x1024 raster, by summing its pixels
+ * and by a {@link SummedAreaTable}, and building the table once.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AreaSamplingBenchmark {
+
+  private static final int SIZE = 1024;
+  private static final int POINTS = 1024;
+
+  @Param({"5", "15", "45"})
+  public int kernelSize;
+
+  private PaletteRaster raster;
+  private SummedAreaTable table;
+  private final int[] xs = new int[POINTS];
+  private final int[] ys = new int[POINTS];
+  private int index;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    int[] pixels = new int[SIZE * SIZE];
+    for (int i = 0; i < pixels.length; i++) {
+      pixels[i] = 0xFF000000 | random.nextInt(0x1000000);
+    }
+    raster = new PaletteRaster(pixels, SIZE, SIZE);
+    table = SummedAreaTable.of(raster);
+    for (int i = 0; i < POINTS; i++) {
+      xs[i] = random.nextInt(SIZE);
+      ys[i] = random.nextInt(SIZE);
+    }
+  }
+
+  private int next() {
+    index = (index + 1) & (POINTS - 1);
+    return index;
+  }
+
+  /** sums the kernel pixel by pixel, O(kernelSize^2) per sample. */
+  @Benchmark
+  public int naiveAverage() {
+    int i = next();
+    int half = kernelSize / 2;
+    int red = 0;
+    int green = 0;
+    int blue = 0;
+    int count = 0;
+    for (int y = ys[i] - half; y <= ys[i] + half; y++) {
+      for (int x = xs[i] - half; x <= xs[i] + half; x++) {
+        int color = raster.sample(x, y);
+        if (color != 0) {
+          red += ColorMath.red(color);
+          green += ColorMath.green(color);
+          blue += ColorMath.blue(color);
+          count++;
+        }
+      }
+    }
+    return ColorMath.argb(0xFF, red / count, green / count, blue / count);
+  }
+
+  @Benchmark
+  public int tableAverage() {
+    int i = next();
+    return table.average(xs[i], ys[i], kernelSize);
+  }
+
+  @Benchmark
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  public SummedAreaTable buildTable() {
+    return SummedAreaTable.of(raster);
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview.benchmark;
+
+import com.skydoves.colorpickerview.core.ColorMath;
+import com.skydoves.colorpickerview.core.HexCodec;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the color conversions behind {@code ColorUtils} and {@code ColorEnvelope}.
+ *
+ * <p>{@code ColorUtils} and {@code ColorEnvelope} live in the Android module, so the benchmarks
+ * measure the core implementations they delegate to; {@link #envelope} does the same work as the
+ * {@code ColorEnvelope} constructor.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColorConversionBenchmark {
+
+  private static final int COLORS = 1024;
+
+  private final int[] colors = new int[COLORS];
+  private final float[][] hsvs = new float[COLORS][3];
+  private final float[] hsv = new float[3];
+  private int index;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    for (int i = 0; i < COLORS; i++) {
+      colors[i] = random.nextInt();
+      ColorMath.colorToHsv(colors[i], hsvs[i]);
+    }
+  }
+
+  private int next() {
+    index = (index + 1) & (COLORS - 1);
+    return index;
+  }
+
+  /** {@code ColorUtils.getHexCode}. */
+  @Benchmark
+  public String getHexCode() {
+    return HexCodec.toHex(colors[next()]);
+  }
+
+  /** the previous {@code String.format} based {@code ColorUtils.getHexCode}, for comparison. */
+  @Benchmark
+  public String getHexCodeFormat() {
+    int color = colors[next()];
+    return String.format(
+        Locale.getDefault(),
+        "%02X%02X%02X%02X",
+        color >>> 24,
+        (color >> 16) & 0xFF,
+        (color >> 8) & 0xFF,
+        color & 0xFF);
+  }
+
+  /** {@code ColorUtils.getColorARGB}. */
+  @Benchmark
+  public int[] getColorARGB() {
+    int[] argb = new int[4];
+    ColorMath.argbOf(colors[next()], argb);
+    return argb;
+  }
+
+  @Benchmark
+  public float[] colorToHsv() {
+    ColorMath.colorToHsv(colors[next()], hsv);
+    return hsv;
+  }
+
+  @Benchmark
+  public int hsvToColor() {
+    float[] source = hsvs[next()];
+    return ColorMath.hsvToColor(0xFF, source[0], source[1], source[2]);
+  }
+
+  @Benchmark
+  public int parseHex() {
+    return HexCodec.parseHex("#80FF0A01");
+  }
+
+  /** the work of {@code new ColorEnvelope(color)}: a hex code and an argb array. */
+  @Benchmark
+  public void envelope(Blackhole blackhole) {
+    int color = colors[next()];
+    int[] argb = new int[4];
+    ColorMath.argbOf(color, argb);
+    blackhole.consume(HexCodec.toHex(color));
+    blackhole.consume(argb);
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+package com.skydoves.colorpickerview.benchmark;
+
+import com.skydoves.colorpickerview.core.ColorMath;
+import com.skydoves.colorpickerview.core.Contrast;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks scoring one color against 50 backgrounds, as a listener checking theme backgrounds
+ * on every drag event would: with {@link Math#pow} linearization, and with {@link Contrast}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContrastBenchmark {
+
+  private static final int BACKGROUNDS = 50;
+  private static final int COLORS = 1024;
+
+  private final int[] backgrounds = new int[BACKGROUNDS];
+  private final float[] ratios = new float[BACKGROUNDS];
+  private final int[] colors = new int[COLORS];
+  private int index;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    for (int i = 0; i < BACKGROUNDS; i++) {
+      backgrounds[i] = 0xFF000000 | random.nextInt(0x1000000);
+    }
+    for (int i = 0; i < COLORS; i++) {
+      colors[i] = 0xFF000000 | random.nextInt(0x1000000);
+    }
+  }
+
+  private int next() {
+    index = (index + 1) & (COLORS - 1);
+    return colors[index];
+  }
+
+  @Benchmark
+  public float[] powRatios() {
+    int color = next();
+    for (int i = 0; i < BACKGROUNDS; i++) {
+      double luminance = powLuminance(color);
+      double background = powLuminance(backgrounds[i]);
+      ratios[i] =
+          (float)
+              ((Math.max(luminance, background) + 0.05)
+                  / (Math.min(luminance, background) + 0.05));
+    }
+    return ratios;
+  }
+
+  @Benchmark
+  public float lookupRatios() {
+    return Contrast.ratios(next(), backgrounds, ratios);
+  }
+
+  private static double powLuminance(int color) {
+    return 0.2126 * linearize(ColorMath.red(color))
+        + 0.7152 * linearize(ColorMath.green(color))
+        + 0.0722 * linearize(ColorMath.blue(color));
+  }
+
+  private static double linearize(int channel) {
+    double value = channel / 255d;
+    return value <= 0.04045 ? value / 12.92 : Math.pow((value + 0.055) / 1.055, 2.4);
+  }
+}
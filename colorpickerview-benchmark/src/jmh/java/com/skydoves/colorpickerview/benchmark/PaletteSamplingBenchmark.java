@@ -0,0 +1,100 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview.benchmark;
+
+import com.skydoves.colorpickerview.core.PaletteRaster;
+import com.skydoves.colorpickerview.core.WheelGeometry;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks sampling and boundary search ({@code approximatedPoint}) over synthetic palette
+ * rasters: an opaque disc with transparent corners, like an image palette of a round wheel.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaletteSamplingBenchmark {
+
+  private static final int POINTS = 1024;
+
+  @Param({"256", "1024", "2048"})
+  public int size;
+
+  private PaletteRaster raster;
+  private final int[] xs = new int[POINTS];
+  private final int[] ys = new int[POINTS];
+  private int index;
+
+  @Setup
+  public void setUp() {
+    int[] pixels = new int[size * size];
+    for (int y = 0; y < size; y++) {
+      for (int x = 0; x < size; x++) {
+        long point = WheelGeometry.clampToWheel(x, y, size, size);
+        boolean inside = (int) (point >> 32) == x && (int) point == y;
+        pixels[y * size + x] = inside ? WheelGeometry.colorAt(x, y, size, size, 1f) : 0;
+      }
+    }
+    raster = new PaletteRaster(pixels, size, size);
+
+    Random random = new Random(42);
+    for (int i = 0; i < POINTS; i++) {
+      xs[i] = random.nextInt(size);
+      ys[i] = random.nextInt(size);
+    }
+  }
+
+  private int next() {
+    index = (index + 1) & (POINTS - 1);
+    return index;
+  }
+
+  @Benchmark
+  public int sample() {
+    int i = next();
+    return raster.sample(xs[i], ys[i]);
+  }
+
+  @Benchmark
+  public int sampleRelative() {
+    int i = next();
+    return raster.sampleRelative(xs[i] / (float) size, ys[i] / (float) size);
+  }
+
+  /** {@code ColorPickerView.approximatedPoint} from a touch towards the palette center. */
+  @Benchmark
+  public long approximatedPoint() {
+    int i = next();
+    return WheelGeometry.approximatedPoint(xs[i], ys[i], size / 2, size / 2, raster);
+  }
+}
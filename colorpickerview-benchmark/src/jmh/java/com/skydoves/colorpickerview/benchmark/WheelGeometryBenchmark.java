@@ -0,0 +1,92 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview.benchmark;
+
+import com.skydoves.colorpickerview.core.WheelGeometry;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks the hue wheel mapping done by {@code ColorPickerView} on every touch event. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WheelGeometryBenchmark {
+
+  private static final int POINTS = 1024;
+
+  @Param({"256", "1024"})
+  public int size;
+
+  private final int[] xs = new int[POINTS];
+  private final int[] ys = new int[POINTS];
+  private final float[] hues = new float[POINTS];
+  private final float[] saturations = new float[POINTS];
+  private int index;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    for (int i = 0; i < POINTS; i++) {
+      // touches may land outside of the wheel, e.g. while dragging past its edge.
+      xs[i] = random.nextInt(size * 2) - size / 2;
+      ys[i] = random.nextInt(size * 2) - size / 2;
+      hues[i] = random.nextFloat() * 360f;
+      saturations[i] = random.nextFloat();
+    }
+  }
+
+  private int next() {
+    index = (index + 1) & (POINTS - 1);
+    return index;
+  }
+
+  /** {@code ColorPickerView.getHuePoint}. */
+  @Benchmark
+  public long getHuePoint() {
+    int i = next();
+    return WheelGeometry.clampToWheel(xs[i], ys[i], size, size);
+  }
+
+  /** the color lookup of the HSV palette geometry. */
+  @Benchmark
+  public int colorAt() {
+    int i = next();
+    return WheelGeometry.colorAt(xs[i], ys[i], size, size, 1f);
+  }
+
+  /** the point lookup of {@code ColorPickerView.selectByHsvColor}. */
+  @Benchmark
+  public long pointOf() {
+    int i = next();
+    return WheelGeometry.pointOf(hues[i], saturations[i], size, size);
+  }
+}
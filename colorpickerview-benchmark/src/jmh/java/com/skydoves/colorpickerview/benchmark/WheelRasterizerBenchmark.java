@@ -0,0 +1,64 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.benchmark;
+
+import com.skydoves.colorpickerview.core.WheelRasterizer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Benchmarks rasterizing the HSV wheel on one thread against row stripes on a pool. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WheelRasterizerBenchmark {
+
+  @Param({"256", "1000"})
+  public int size;
+
+  private int[] pixels;
+
+  @Setup
+  public void setUp() {
+    pixels = new int[size * size];
+  }
+
+  @Benchmark
+  public int[] sequential() {
+    WheelRasterizer.rasterize(pixels, size, size, 1f);
+    return pixels;
+  }
+
+  @Benchmark
+  public int[] parallel() {
+    WheelRasterizer.rasterize(pixels, size, size, 1f, ForkJoinPool.commonPool());
+    return pixels;
+  }
+}
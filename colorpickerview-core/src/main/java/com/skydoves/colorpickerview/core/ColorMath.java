@@ -0,0 +1,180 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview.core;
+
+/**
+ * ColorMath implements packed ARGB and HSV color math on primitive ints and floats.
+ *
+ * <p>Colors use the same 0xAARRGGBB layout as {@code android.graphics.Color}, hue is in degrees
+ * [0, 360), saturation and value are in [0, 1].
+ */
+public final class ColorMath {
+
+  private ColorMath() {}
+
+  public static int alpha(int color) {
+    return color >>> 24;
+  }
+
+  public static int red(int color) {
+    return (color >> 16) & 0xFF;
+  }
+
+  public static int green(int color) {
+    return (color >> 8) & 0xFF;
+  }
+
+  public static int blue(int color) {
+    return color & 0xFF;
+  }
+
+  public static int argb(int alpha, int red, int green, int blue) {
+    return (alpha << 24) | (red << 16) | (green << 8) | blue;
+  }
+
+  /** gets a color without its alpha channel. */
+  public static int pureColor(int color) {
+    return color & 0x00FFFFFF;
+  }
+
+  /**
+   * writes the alpha, red, green and blue channels of a color.
+   *
+   * @param color color.
+   * @param argb array of at least 4 receiving the channels.
+   */
+  public static void argbOf(int color, int[] argb) {
+    argb[0] = alpha(color);
+    argb[1] = red(color);
+    argb[2] = green(color);
+    argb[3] = blue(color);
+  }
+
+  /**
+   * converts a color to HSV components.
+   *
+   * @param color color.
+   * @param hsv array of 3 receiving hue, saturation and value.
+   */
+  public static void colorToHsv(int color, float[] hsv) {
+    int r = red(color);
+    int g = green(color);
+    int b = blue(color);
+    int max = Math.max(r, Math.max(g, b));
+    int min = Math.min(r, Math.min(g, b));
+    float delta = max - min;
+    float hue;
+    if (delta == 0) {
+      hue = 0f;
+    } else if (max == r) {
+      hue = 60f * ((g - b) / delta);
+    } else if (max == g) {
+      hue = 60f * ((b - r) / delta + 2f);
+    } else {
+      hue = 60f * ((r - g) / delta + 4f);
+    }
+    if (hue < 0f) {
+      hue += 360f;
+    }
+    hsv[0] = hue;
+    hsv[1] = max == 0 ? 0f : delta / max;
+    hsv[2] = max / 255f;
+  }
+
+  /**
+   * converts HSV components to a color.
+   *
+   * @param alpha alpha [0, 255].
+   * @param hue hue in degrees, wrapped into [0, 360).
+   * @param saturation saturation, clamped into [0, 1].
+   * @param value value, clamped into [0, 1].
+   * @return color.
+   */
+  public static int hsvToColor(int alpha, float hue, float saturation, float value) {
+    float h = hue % 360f;
+    if (h < 0f) {
+      h += 360f;
+    }
+    float s = clamp01(saturation);
+    float v = clamp01(value);
+    float c = v * s;
+    float sector = h / 60f;
+    float x = c * (1f - Math.abs(sector % 2f - 1f));
+    float m = v - c;
+    float r;
+    float g;
+    float b;
+    switch ((int) sector) {
+      case 0:
+        r = c;
+        g = x;
+        b = 0;
+        break;
+      case 1:
+        r = x;
+        g = c;
+        b = 0;
+        break;
+      case 2:
+        r = 0;
+        g = c;
+        b = x;
+        break;
+      case 3:
+        r = 0;
+        g = x;
+        b = c;
+        break;
+      case 4:
+        r = x;
+        g = 0;
+        b = c;
+        break;
+      default:
+        r = c;
+        g = 0;
+        b = x;
+        break;
+    }
+    return argb(
+        alpha,
+        Math.round((r + m) * 255f),
+        Math.round((g + m) * 255f),
+        Math.round((b + m) * 255f));
+  }
+
+  /**
+   * gets the signed difference between two hues (or any angles in degrees) along the shorter way
+   * around the circle.
+   *
+   * @return degrees in [-180, 180).
+   */
+  public static float hueDelta(float from, float to) {
+    float delta = (to - from) % 360f;
+    if (delta >= 180f) {
+      delta -= 360f;
+    } else if (delta < -180f) {
+      delta += 360f;
+    }
+    return delta;
+  }
+
+  public static float clamp01(float value) {
+    return Math.max(0f, Math.min(1f, value));
+  }
+}
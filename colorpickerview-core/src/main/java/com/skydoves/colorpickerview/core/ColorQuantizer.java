@@ -0,0 +1,337 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.core;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * ColorQuantizer extracts dominant colors from a palette with median cut.
+ *
+ * <p>Pixels are reduced to 5 bits per channel and counted into a histogram, which is built in row
+ * stripes when a {@link ForkJoinPool} is given. Translucent pixels (alpha below 128) are ignored,
+ * so the transparent surroundings of irregular palettes do not count. The histogram is then split
+ * into boxes along their widest channel at the population median until {@code maxColors} boxes
+ * exist, and each box becomes a swatch of its population-weighted average color.
+ */
+public final class ColorQuantizer {
+
+  private static final int QUANTIZE_BITS = 5;
+  private static final int QUANTIZE_MASK = (1 << QUANTIZE_BITS) - 1;
+  private static final int HISTOGRAM_SIZE = 1 << (QUANTIZE_BITS * 3);
+  private static final int MIN_ALPHA = 128;
+  /** each stripe counts into its own 128 KB histogram, so stripes are not split finely. */
+  private static final int STRIPE_PIXELS = 16 * 1024;
+
+  private static final int COMPONENT_RED = 0;
+  private static final int COMPONENT_GREEN = 1;
+  private static final int COMPONENT_BLUE = 2;
+
+  private ColorQuantizer() {}
+
+  /**
+   * quantizes a raster on the calling thread.
+   *
+   * @param maxColors maximum number of swatches.
+   * @param maxPixels the raster is sampled on a regular grid of at most about this many pixels.
+   */
+  public static Swatches quantize(PaletteRaster raster, int maxColors, int maxPixels) {
+    return quantize(raster, maxColors, maxPixels, null);
+  }
+
+  /**
+   * quantizes a raster, building the histogram in row stripes on a pool.
+   *
+   * @param maxColors maximum number of swatches.
+   * @param maxPixels the raster is sampled on a regular grid of at most about this many pixels.
+   * @param pool pool building the histogram, or null for the calling thread.
+   */
+  public static Swatches quantize(
+      PaletteRaster raster, int maxColors, int maxPixels, ForkJoinPool pool) {
+    if (maxColors < 1) {
+      throw new IllegalArgumentException("maxColors must be at least 1, was " + maxColors);
+    }
+    int width = raster.getWidth();
+    int height = raster.getHeight();
+    long area = (long) width * height;
+    int step = area <= maxPixels ? 1 : (int) Math.ceil(Math.sqrt((double) area / maxPixels));
+    int rows = (height + step - 1) / step;
+
+    int[] histogram;
+    if (pool == null || rows == 0) {
+      histogram = new int[HISTOGRAM_SIZE];
+      count(raster, step, 0, rows, histogram);
+    } else {
+      int sampledWidth = Math.max(1, (width + step - 1) / step);
+      int stripeRows = Math.max(1, STRIPE_PIXELS / sampledWidth);
+      histogram = pool.invoke(new Stripe(raster, step, 0, rows, stripeRows));
+    }
+    return cut(histogram, maxColors);
+  }
+
+  /** counts the sampled rows [fromRow, toRow) of a raster into a histogram. */
+  private static void count(
+      PaletteRaster raster, int step, int fromRow, int toRow, int[] histogram) {
+    int[] pixels = raster.getPixels();
+    int width = raster.getWidth();
+    for (int row = fromRow; row < toRow; row++) {
+      int offset = row * step * width;
+      for (int x = 0; x < width; x += step) {
+        int color = pixels[offset + x];
+        if (ColorMath.alpha(color) >= MIN_ALPHA) {
+          histogram[quantize(color)]++;
+        }
+      }
+    }
+  }
+
+  private static Swatches cut(int[] histogram, int maxColors) {
+    int distinct = 0;
+    for (int count : histogram) {
+      if (count > 0) {
+        distinct++;
+      }
+    }
+    int[] colors = new int[distinct];
+    int index = 0;
+    for (int color = 0; color < HISTOGRAM_SIZE; color++) {
+      if (histogram[color] > 0) {
+        colors[index++] = color;
+      }
+    }
+
+    PriorityQueue<Box> queue = new PriorityQueue<>(maxColors);
+    if (distinct > 0) {
+      queue.offer(new Box(colors, histogram, 0, distinct - 1));
+    }
+    // boxes come out largest first; a box that cannot be split means none of the rest can either.
+    while (queue.size() < maxColors) {
+      Box box = queue.poll();
+      if (box == null) {
+        break;
+      }
+      if (!box.canSplit()) {
+        queue.offer(box);
+        break;
+      }
+      queue.offer(box.split());
+      queue.offer(box);
+    }
+
+    Box[] boxes = queue.toArray(new Box[0]);
+    Arrays.sort(boxes, (a, b) -> Integer.compare(b.population, a.population));
+    int[] swatchColors = new int[boxes.length];
+    int[] populations = new int[boxes.length];
+    for (int i = 0; i < boxes.length; i++) {
+      swatchColors[i] = boxes[i].averageColor();
+      populations[i] = boxes[i].population;
+    }
+    return new Swatches(swatchColors, populations);
+  }
+
+  private static int quantize(int color) {
+    int r = ColorMath.red(color) >> (8 - QUANTIZE_BITS);
+    int g = ColorMath.green(color) >> (8 - QUANTIZE_BITS);
+    int b = ColorMath.blue(color) >> (8 - QUANTIZE_BITS);
+    return (r << (QUANTIZE_BITS * 2)) | (g << QUANTIZE_BITS) | b;
+  }
+
+  private static int red(int quantized) {
+    return (quantized >> (QUANTIZE_BITS * 2)) & QUANTIZE_MASK;
+  }
+
+  private static int green(int quantized) {
+    return (quantized >> QUANTIZE_BITS) & QUANTIZE_MASK;
+  }
+
+  private static int blue(int quantized) {
+    return quantized & QUANTIZE_MASK;
+  }
+
+  /** widens a 5 bit channel back to 8 bits. */
+  private static int widen(int value) {
+    return (value << (8 - QUANTIZE_BITS)) | (value >> (2 * QUANTIZE_BITS - 8));
+  }
+
+  /**
+   * reorders the channels of quantized colors so the given component is the most significant,
+   * which makes a plain sort order them by it. Applying it again restores the original order.
+   */
+  private static void swapComponent(int[] colors, int component, int lower, int upper) {
+    if (component == COMPONENT_RED) {
+      return;
+    }
+    for (int i = lower; i <= upper; i++) {
+      int color = colors[i];
+      if (component == COMPONENT_GREEN) {
+        colors[i] =
+            (green(color) << (QUANTIZE_BITS * 2)) | (red(color) << QUANTIZE_BITS) | blue(color);
+      } else {
+        colors[i] =
+            (blue(color) << (QUANTIZE_BITS * 2)) | (green(color) << QUANTIZE_BITS) | red(color);
+      }
+    }
+  }
+
+  /** Box is a range of the sorted distinct colors, ordered by volume for splitting. */
+  private static final class Box implements Comparable<Box> {
+
+    private final int[] colors;
+    private final int[] histogram;
+    private final int lower;
+    private int upper;
+
+    private int population;
+    private int minRed;
+    private int maxRed;
+    private int minGreen;
+    private int maxGreen;
+    private int minBlue;
+    private int maxBlue;
+
+    Box(int[] colors, int[] histogram, int lower, int upper) {
+      this.colors = colors;
+      this.histogram = histogram;
+      this.lower = lower;
+      this.upper = upper;
+      fitBox();
+    }
+
+    private void fitBox() {
+      minRed = minGreen = minBlue = Integer.MAX_VALUE;
+      maxRed = maxGreen = maxBlue = Integer.MIN_VALUE;
+      population = 0;
+      for (int i = lower; i <= upper; i++) {
+        int color = colors[i];
+        population += histogram[color];
+        int r = red(color);
+        int g = green(color);
+        int b = blue(color);
+        minRed = Math.min(minRed, r);
+        maxRed = Math.max(maxRed, r);
+        minGreen = Math.min(minGreen, g);
+        maxGreen = Math.max(maxGreen, g);
+        minBlue = Math.min(minBlue, b);
+        maxBlue = Math.max(maxBlue, b);
+      }
+    }
+
+    int volume() {
+      return (maxRed - minRed + 1) * (maxGreen - minGreen + 1) * (maxBlue - minBlue + 1);
+    }
+
+    boolean canSplit() {
+      return upper > lower;
+    }
+
+    /** splits off the upper half of this box at the population median of its widest channel. */
+    Box split() {
+      int component = widestComponent();
+      swapComponent(colors, component, lower, upper);
+      Arrays.sort(colors, lower, upper + 1);
+      swapComponent(colors, component, lower, upper);
+
+      int midpoint = population / 2;
+      int splitPoint = lower;
+      for (int i = lower, count = 0; i < upper; i++) {
+        count += histogram[colors[i]];
+        splitPoint = i;
+        if (count >= midpoint) {
+          break;
+        }
+      }
+      Box upperBox = new Box(colors, histogram, splitPoint + 1, upper);
+      upper = splitPoint;
+      fitBox();
+      return upperBox;
+    }
+
+    private int widestComponent() {
+      int redLength = maxRed - minRed;
+      int greenLength = maxGreen - minGreen;
+      int blueLength = maxBlue - minBlue;
+      if (redLength >= greenLength && redLength >= blueLength) {
+        return COMPONENT_RED;
+      } else if (greenLength >= redLength && greenLength >= blueLength) {
+        return COMPONENT_GREEN;
+      }
+      return COMPONENT_BLUE;
+    }
+
+    int averageColor() {
+      long redSum = 0;
+      long greenSum = 0;
+      long blueSum = 0;
+      for (int i = lower; i <= upper; i++) {
+        int color = colors[i];
+        int count = histogram[color];
+        redSum += (long) count * red(color);
+        greenSum += (long) count * green(color);
+        blueSum += (long) count * blue(color);
+      }
+      int r = widen(Math.round((float) redSum / population));
+      int g = widen(Math.round((float) greenSum / population));
+      int b = widen(Math.round((float) blueSum / population));
+      return ColorMath.argb(0xFF, r, g, b);
+    }
+
+    @Override
+    public int compareTo(Box other) {
+      return Integer.compare(other.volume(), volume());
+    }
+  }
+
+  /** Stripe counts its sampled rows into its own histogram and merges the halves. */
+  private static final class Stripe extends RecursiveTask<int[]> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final PaletteRaster raster;
+    private final int step;
+    private final int fromRow;
+    private final int toRow;
+    private final int stripeRows;
+
+    Stripe(PaletteRaster raster, int step, int fromRow, int toRow, int stripeRows) {
+      this.raster = raster;
+      this.step = step;
+      this.fromRow = fromRow;
+      this.toRow = toRow;
+      this.stripeRows = stripeRows;
+    }
+
+    @Override
+    protected int[] compute() {
+      if (toRow - fromRow <= stripeRows) {
+        int[] histogram = new int[HISTOGRAM_SIZE];
+        count(raster, step, fromRow, toRow, histogram);
+        return histogram;
+      }
+      int middle = (fromRow + toRow) >>> 1;
+      Stripe upper = new Stripe(raster, step, middle, toRow, stripeRows);
+      upper.fork();
+      int[] histogram = new Stripe(raster, step, fromRow, middle, stripeRows).compute();
+      int[] upperHistogram = upper.join();
+      for (int i = 0; i < HISTOGRAM_SIZE; i++) {
+        histogram[i] += upperHistogram[i];
+      }
+      return histogram;
+    }
+  }
+}
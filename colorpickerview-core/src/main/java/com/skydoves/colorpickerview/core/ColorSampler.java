@@ -0,0 +1,30 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview.core;
+
+/** ColorSampler gets a color at a coordinate of a palette. */
+public interface ColorSampler {
+  /**
+   * gets a color at a coordinate.
+   *
+   * @param x coordinate x.
+   * @param y coordinate y.
+   * @return color, or 0 (transparent) outside of the palette.
+   */
+  int sample(int x, int y);
+}
@@ -0,0 +1,140 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview.core;
+
+/**
+ * Contrast computes WCAG relative luminance and contrast ratios.
+ *
+ * <p>sRGB channels are linearized through a 256-entry lookup table built once, so a luminance is
+ * three lookups and no {@link Math#pow}. Translucent foregrounds are composited over the
+ * background first; backgrounds are treated as opaque.
+ */
+public final class Contrast {
+
+  /** the minimum ratio of WCAG AA for normal text. */
+  public static final float RATIO_AA = 4.5f;
+  /** the minimum ratio of WCAG AA for large text and user interface components. */
+  public static final float RATIO_AA_LARGE = 3f;
+  /** the minimum ratio of WCAG AAA for normal text. */
+  public static final float RATIO_AAA = 7f;
+
+  private static final float[] LINEAR = new float[256];
+
+  static {
+    for (int i = 0; i < LINEAR.length; i++) {
+      double channel = i / 255d;
+      LINEAR[i] =
+          (float)
+              (channel <= 0.04045
+                  ? channel / 12.92
+                  : Math.pow((channel + 0.055) / 1.055, 2.4));
+    }
+  }
+
+  private Contrast() {}
+
+  /**
+   * gets the relative luminance of a color, ignoring its alpha.
+   *
+   * @return luminance [0, 1].
+   */
+  public static float luminance(int color) {
+    return 0.2126f * LINEAR[ColorMath.red(color)]
+        + 0.7152f * LINEAR[ColorMath.green(color)]
+        + 0.0722f * LINEAR[ColorMath.blue(color)];
+  }
+
+  /**
+   * gets the contrast ratio of two luminances, in either order.
+   *
+   * @return ratio [1, 21].
+   */
+  public static float ratioOfLuminances(float luminance, float otherLuminance) {
+    float lighter = Math.max(luminance, otherLuminance);
+    float darker = Math.min(luminance, otherLuminance);
+    return (lighter + 0.05f) / (darker + 0.05f);
+  }
+
+  /**
+   * gets the contrast ratio of a color on a background.
+   *
+   * @return ratio [1, 21].
+   */
+  public static float ratio(int foreground, int background) {
+    return ratioOfLuminances(luminance(over(foreground, background)), luminance(background));
+  }
+
+  /**
+   * gets the contrast ratios of a color on many backgrounds in one pass. The luminance of an
+   * opaque color is computed once.
+   *
+   * @param ratios receives the ratio of every background, at least as long as backgrounds.
+   * @return the lowest ratio, or 21 when there are no backgrounds.
+   */
+  public static float ratios(int foreground, int[] backgrounds, float[] ratios) {
+    if (ratios.length < backgrounds.length) {
+      throw new IllegalArgumentException(
+          "ratios holds " + ratios.length + " values, " + backgrounds.length + " needed.");
+    }
+    boolean opaque = ColorMath.alpha(foreground) == 0xFF;
+    float luminance = opaque ? luminance(foreground) : 0f;
+    float lowest = 21f;
+    for (int i = 0; i < backgrounds.length; i++) {
+      int background = backgrounds[i];
+      float foregroundLuminance = opaque ? luminance : luminance(over(foreground, background));
+      float ratio = ratioOfLuminances(foregroundLuminance, luminance(background));
+      ratios[i] = ratio;
+      lowest = Math.min(lowest, ratio);
+    }
+    return lowest;
+  }
+
+  /**
+   * counts the backgrounds a color falls below a minimum contrast ratio on, e.g. {@link
+   * #RATIO_AA}, without storing the ratios.
+   */
+  public static int countBelow(int foreground, int[] backgrounds, float minimumRatio) {
+    boolean opaque = ColorMath.alpha(foreground) == 0xFF;
+    float luminance = opaque ? luminance(foreground) : 0f;
+    int count = 0;
+    for (int background : backgrounds) {
+      float foregroundLuminance = opaque ? luminance : luminance(over(foreground, background));
+      if (ratioOfLuminances(foregroundLuminance, luminance(background)) < minimumRatio) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /** composites a color over an opaque background. */
+  private static int over(int color, int background) {
+    int alpha = ColorMath.alpha(color);
+    if (alpha == 0xFF) {
+      return color;
+    }
+    return ColorMath.argb(
+        0xFF,
+        blend(ColorMath.red(color), ColorMath.red(background), alpha),
+        blend(ColorMath.green(color), ColorMath.green(background), alpha),
+        blend(ColorMath.blue(color), ColorMath.blue(background), alpha));
+  }
+
+  private static int blend(int channel, int backgroundChannel, int alpha) {
+    return (channel * alpha + backgroundChannel * (0xFF - alpha) + 127) / 0xFF;
+  }
+}
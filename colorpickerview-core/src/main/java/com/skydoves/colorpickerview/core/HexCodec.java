@@ -0,0 +1,65 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview.core;
+
+/** HexCodec encodes and parses hex color codes without formatting or regular expressions. */
+public final class HexCodec {
+
+  private static final char[] DIGITS = "0123456789ABCDEF".toCharArray();
+
+  private HexCodec() {}
+
+  /**
+   * encodes a color as an upper case AARRGGBB hex code without a leading '#'.
+   *
+   * @param color color.
+   * @return hex code.
+   */
+  public static String toHex(int color) {
+    char[] chars = new char[8];
+    for (int i = 7; i >= 0; i--) {
+      chars[i] = DIGITS[color & 0xF];
+      color >>>= 4;
+    }
+    return new String(chars);
+  }
+
+  /**
+   * parses an RRGGBB or AARRGGBB hex code with an optional leading '#'. RRGGBB codes are opaque.
+   *
+   * @param hexCode hex code.
+   * @return color.
+   * @throws IllegalArgumentException if the code is not a valid hex color.
+   */
+  public static int parseHex(String hexCode) {
+    int start = hexCode.length() > 0 && hexCode.charAt(0) == '#' ? 1 : 0;
+    int length = hexCode.length() - start;
+    if (length != 6 && length != 8) {
+      throw new IllegalArgumentException("Unknown hex color: " + hexCode);
+    }
+    int color = 0;
+    for (int i = start; i < hexCode.length(); i++) {
+      int digit = Character.digit(hexCode.charAt(i), 16);
+      if (digit < 0) {
+        throw new IllegalArgumentException("Unknown hex color: " + hexCode);
+      }
+      color = (color << 4) | digit;
+    }
+    return length == 6 ? color | 0xFF000000 : color;
+  }
+}
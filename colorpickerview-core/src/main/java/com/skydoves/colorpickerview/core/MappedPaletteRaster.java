@@ -0,0 +1,112 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+package com.skydoves.colorpickerview.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * MappedPaletteRaster samples a {@link RawPaletteFormat} file through a read-only memory mapping,
+ * so no pixels are decoded or held on the Java heap; the OS pages them in on first access.
+ */
+public final class MappedPaletteRaster implements ColorSampler {
+
+  private final IntBuffer pixels;
+  private final int width;
+  private final int height;
+
+  private MappedPaletteRaster(IntBuffer pixels, int width, int height) {
+    this.pixels = pixels;
+    this.width = width;
+    this.height = height;
+  }
+
+  /**
+   * maps a {@link RawPaletteFormat} file. The mapping stays valid after the file is closed.
+   *
+   * @throws IOException when the file can not be read or is not a valid raw palette.
+   */
+  public static MappedPaletteRaster open(File file) throws IOException {
+    try (RandomAccessFile access = new RandomAccessFile(file, "r");
+        FileChannel channel = access.getChannel()) {
+      long size = channel.size();
+      if (size < RawPaletteFormat.HEADER_BYTES) {
+        throw new IOException(file + " is too short for a raw palette.");
+      }
+      ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      int magic = buffer.getInt();
+      int version = buffer.getInt();
+      int width = buffer.getInt();
+      int height = buffer.getInt();
+      if (magic != RawPaletteFormat.MAGIC || version != RawPaletteFormat.VERSION) {
+        throw new IOException(
+            file + " is not a version " + RawPaletteFormat.VERSION + " raw palette.");
+      }
+      if (width < 0 || height < 0 || size < RawPaletteFormat.fileSize(width, height)) {
+        throw new IOException(file + " is truncated for a " + width + "x" + height + " palette.");
+      }
+      return new MappedPaletteRaster(buffer.slice().asIntBuffer(), width, height);
+    }
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * gets a pixel.
+   *
+   * @return color, or 0 (transparent) outside of the raster.
+   */
+  @Override
+  public int sample(int x, int y) {
+    if (x < 0 || y < 0 || x >= width || y >= height) {
+      return 0;
+    }
+    return pixels.get(y * width + x);
+  }
+
+  /**
+   * gets the pixel at a position relative to the raster size.
+   *
+   * @param u horizontal position [0, 1).
+   * @param v vertical position [0, 1).
+   * @return color, or 0 (transparent) outside of the raster.
+   */
+  public int sampleRelative(float u, float v) {
+    return sample((int) (u * width), (int) (v * height));
+  }
+
+  /**
+   * copies a row of pixels.
+   *
+   * @param row destination of at least width pixels.
+   */
+  public void copyRow(int y, int[] row) {
+    IntBuffer source = pixels.duplicate();
+    source.position(y * width);
+    source.get(row, 0, width);
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview.core;
+
+/** PaletteRaster is a palette image stored as packed ARGB pixels in row-major order. */
+public final class PaletteRaster implements ColorSampler {
+
+  private final int[] pixels;
+  private final int width;
+  private final int height;
+
+  public PaletteRaster(int[] pixels, int width, int height) {
+    if (pixels.length < width * height) {
+      throw new IllegalArgumentException(
+          "pixels holds " + pixels.length + " pixels, " + width + "x" + height + " needed.");
+    }
+    this.pixels = pixels;
+    this.width = width;
+    this.height = height;
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  /** gets the backing pixels; they are shared, not copied. */
+  public int[] getPixels() {
+    return pixels;
+  }
+
+  /**
+   * gets a pixel.
+   *
+   * @return color, or 0 (transparent) outside of the raster.
+   */
+  @Override
+  public int sample(int x, int y) {
+    if (x < 0 || y < 0 || x >= width || y >= height) {
+      return 0;
+    }
+    return pixels[y * width + x];
+  }
+
+  /**
+   * gets the pixel at a position relative to the raster size.
+   *
+   * @param u horizontal position [0, 1).
+   * @param v vertical position [0, 1).
+   * @return color, or 0 (transparent) outside of the raster.
+   */
+  public int sampleRelative(float u, float v) {
+    return sample((int) (u * width), (int) (v * height));
+  }
+
+  /**
+   * shrinks the raster by the smallest whole factor that fits it into a number of pixels, averaging
+   * every factor x factor block with its colors weighted by alpha.
+   *
+   * @param maxPixels the largest number of pixels of the result.
+   * @return a new raster, or this raster when it already fits.
+   */
+  public PaletteRaster downsample(int maxPixels) {
+    if ((long) width * height <= maxPixels) {
+      return this;
+    }
+    return downsample(this, width, height, maxPixels);
+  }
+
+  /**
+   * copies a palette into a raster, shrunk like {@link #downsample(int)} when it does not fit into
+   * a number of pixels.
+   *
+   * @param sampler the palette, read at [0, width) x [0, height).
+   * @param maxPixels the largest number of pixels of the result.
+   * @return a new raster.
+   */
+  public static PaletteRaster downsample(
+      ColorSampler sampler, int width, int height, int maxPixels) {
+    int factor =
+        Math.max(1, (int) Math.ceil(Math.sqrt((double) width * height / Math.max(1, maxPixels))));
+    while ((long) ceilDiv(width, factor) * ceilDiv(height, factor) > maxPixels) {
+      factor++;
+    }
+    int outWidth = ceilDiv(width, factor);
+    int outHeight = ceilDiv(height, factor);
+    int[] out = new int[outWidth * outHeight];
+    for (int outY = 0; outY < outHeight; outY++) {
+      int top = outY * factor;
+      int bottom = Math.min(height, top + factor);
+      for (int outX = 0; outX < outWidth; outX++) {
+        int left = outX * factor;
+        int right = Math.min(width, left + factor);
+        long alpha = 0;
+        long red = 0;
+        long green = 0;
+        long blue = 0;
+        for (int y = top; y < bottom; y++) {
+          for (int x = left; x < right; x++) {
+            int color = sampler.sample(x, y);
+            int a = ColorMath.alpha(color);
+            alpha += a;
+            red += (long) ColorMath.red(color) * a;
+            green += (long) ColorMath.green(color) * a;
+            blue += (long) ColorMath.blue(color) * a;
+          }
+        }
+        if (alpha > 0) {
+          int area = (right - left) * (bottom - top);
+          out[outY * outWidth + outX] =
+              ColorMath.argb(
+                  (int) ((alpha + area / 2) / area),
+                  (int) ((red + alpha / 2) / alpha),
+                  (int) ((green + alpha / 2) / alpha),
+                  (int) ((blue + alpha / 2) / alpha));
+        }
+      }
+    }
+    return new PaletteRaster(out, outWidth, outHeight);
+  }
+
+  private static int ceilDiv(int value, int divisor) {
+    return (value + divisor - 1) / divisor;
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+package com.skydoves.colorpickerview.core;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * RawPaletteFormat is an uncompressed palette raster meant to be memory-mapped instead of decoded.
+ *
+ * <p>A file is a 16 byte header followed by packed ARGB pixels in row-major order, all
+ * big-endian ints: the magic {@code "CPVR"}, the format version, the width and the height.
+ */
+public final class RawPaletteFormat {
+
+  public static final int MAGIC = 0x43505652;
+  public static final int VERSION = 1;
+  public static final int HEADER_BYTES = 16;
+
+  private RawPaletteFormat() {}
+
+  /**
+   * writes a raster.
+   *
+   * @param pixels packed ARGB pixels in row-major order.
+   * @param stream destination; it is flushed but not closed.
+   */
+  public static void write(int[] pixels, int width, int height, OutputStream stream)
+      throws IOException {
+    if (width < 0 || height < 0 || pixels.length < (long) width * height) {
+      throw new IllegalArgumentException(
+          "pixels holds " + pixels.length + " pixels, " + width + "x" + height + " needed.");
+    }
+    DataOutputStream out = new DataOutputStream(stream);
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    out.writeInt(width);
+    out.writeInt(height);
+    byte[] row = new byte[width * 4];
+    for (int y = 0; y < height; y++) {
+      int offset = y * width;
+      for (int x = 0, i = 0; x < width; x++) {
+        int color = pixels[offset + x];
+        row[i++] = (byte) (color >>> 24);
+        row[i++] = (byte) (color >>> 16);
+        row[i++] = (byte) (color >>> 8);
+        row[i++] = (byte) color;
+      }
+      out.write(row);
+    }
+    out.flush();
+  }
+
+  /** gets the size of a file holding a width x height raster. */
+  public static long fileSize(int width, int height) {
+    return HEADER_BYTES + (long) width * height * 4;
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview.core;
+
+/**
+ * SummedAreaTable averages the pixels of any box of a raster in constant time.
+ *
+ * <p>It holds one table per channel, where every entry is the sum of the pixels above and to the
+ * left of it, so a box sum is four lookups whatever its size. The color channels are
+ * premultiplied by alpha, so transparent pixels around irregular palettes do not darken the
+ * average. The sums are kept in {@code int}s and allowed to overflow on large rasters: box sums are
+ * differences, which stay exact as long as the box itself fits into an {@code int}, which holds
+ * for boxes up to {@link #MAX_KERNEL_SIZE}.
+ */
+public final class SummedAreaTable {
+
+  /** the largest kernel whose channel sums fit into an {@code int}. */
+  public static final int MAX_KERNEL_SIZE = 1023;
+
+  private final int width;
+  private final int height;
+  private final int stride;
+  private final int[] alpha;
+  private final int[] red;
+  private final int[] green;
+  private final int[] blue;
+
+  private SummedAreaTable(int width, int height) {
+    this.width = width;
+    this.height = height;
+    this.stride = width + 1;
+    int size = stride * (height + 1);
+    this.alpha = new int[size];
+    this.red = new int[size];
+    this.green = new int[size];
+    this.blue = new int[size];
+  }
+
+  /** builds the tables of a raster in one pass over its pixels. */
+  public static SummedAreaTable of(PaletteRaster raster) {
+    int width = raster.getWidth();
+    int height = raster.getHeight();
+    int[] pixels = raster.getPixels();
+    SummedAreaTable table = new SummedAreaTable(width, height);
+    int stride = table.stride;
+    for (int y = 0; y < height; y++) {
+      int rowAlpha = 0;
+      int rowRed = 0;
+      int rowGreen = 0;
+      int rowBlue = 0;
+      int offset = y * width;
+      int index = (y + 1) * stride + 1;
+      for (int x = 0; x < width; x++, index++) {
+        int color = pixels[offset + x];
+        int a = ColorMath.alpha(color);
+        rowAlpha += a;
+        rowRed += premultiply(ColorMath.red(color), a);
+        rowGreen += premultiply(ColorMath.green(color), a);
+        rowBlue += premultiply(ColorMath.blue(color), a);
+        table.alpha[index] = table.alpha[index - stride] + rowAlpha;
+        table.red[index] = table.red[index - stride] + rowRed;
+        table.green[index] = table.green[index - stride] + rowGreen;
+        table.blue[index] = table.blue[index - stride] + rowBlue;
+      }
+    }
+    return table;
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * averages the square box of a kernel size centered on a pixel, clipped to the raster.
+   *
+   * @param kernelSize width and height of the box [1, {@link #MAX_KERNEL_SIZE}].
+   * @return the average color, or 0 (transparent) outside of the raster.
+   */
+  public int average(int x, int y, int kernelSize) {
+    if (x < 0 || y < 0 || x >= width || y >= height) {
+      return 0;
+    }
+    int size = Math.max(1, Math.min(kernelSize, MAX_KERNEL_SIZE));
+    int left = Math.max(0, x - size / 2);
+    int top = Math.max(0, y - size / 2);
+    int right = Math.min(width, left + size);
+    int bottom = Math.min(height, top + size);
+    left = Math.max(0, right - size);
+    top = Math.max(0, bottom - size);
+
+    int topLeft = top * stride + left;
+    int topRight = top * stride + right;
+    int bottomLeft = bottom * stride + left;
+    int bottomRight = bottom * stride + right;
+    int alphaSum = boxSum(alpha, topLeft, topRight, bottomLeft, bottomRight);
+    if (alphaSum == 0) {
+      return 0;
+    }
+    int area = (right - left) * (bottom - top);
+    int r = unpremultiply(boxSum(red, topLeft, topRight, bottomLeft, bottomRight), alphaSum);
+    int g = unpremultiply(boxSum(green, topLeft, topRight, bottomLeft, bottomRight), alphaSum);
+    int b = unpremultiply(boxSum(blue, topLeft, topRight, bottomLeft, bottomRight), alphaSum);
+    return ColorMath.argb(Math.round((float) alphaSum / area), r, g, b);
+  }
+
+  /**
+   * averages the box of a kernel size centered on a position relative to the raster size.
+   *
+   * @param u horizontal position [0, 1).
+   * @param v vertical position [0, 1).
+   * @param kernelSize width and height of the box in raster pixels.
+   */
+  public int averageRelative(float u, float v, int kernelSize) {
+    return average((int) (u * width), (int) (v * height), kernelSize);
+  }
+
+  private static int boxSum(
+      int[] table, int topLeft, int topRight, int bottomLeft, int bottomRight) {
+    return table[bottomRight] - table[topRight] - table[bottomLeft] + table[topLeft];
+  }
+
+  private static int premultiply(int channel, int alpha) {
+    return (channel * alpha + 127) / 255;
+  }
+
+  /** divides a premultiplied channel sum by the alpha sum, both summed over the same pixels. */
+  private static int unpremultiply(int channelSum, int alphaSum) {
+    return Math.min(255, (int) (((long) channelSum * 255 + alphaSum / 2) / alphaSum));
+  }
+}
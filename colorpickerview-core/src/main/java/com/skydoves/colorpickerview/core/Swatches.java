@@ -0,0 +1,54 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.core;
+
+/** Swatches are dominant colors ranked by population, most populated first. */
+public final class Swatches {
+
+  private final int[] colors;
+  private final int[] populations;
+
+  Swatches(int[] colors, int[] populations) {
+    this.colors = colors;
+    this.populations = populations;
+  }
+
+  /** gets the number of swatches. */
+  public int size() {
+    return colors.length;
+  }
+
+  /** gets the opaque color of a swatch. */
+  public int getColor(int index) {
+    return colors[index];
+  }
+
+  /** gets the number of sampled pixels a swatch represents. */
+  public int getPopulation(int index) {
+    return populations[index];
+  }
+
+  /** gets a copy of the ranked colors. */
+  public int[] getColors() {
+    return colors.clone();
+  }
+
+  /** gets a copy of the ranked populations, parallel to {@link #getColors()}. */
+  public int[] getPopulations() {
+    return populations.clone();
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview.core;
+
+/**
+ * WheelGeometry maps between coordinates and colors of an HSV wheel centered in a width x height
+ * area, with hue around the circle and saturation growing towards the edge.
+ */
+public final class WheelGeometry {
+
+  private WheelGeometry() {}
+
+  /**
+   * clamps a point into the wheel.
+   *
+   * @return the packed point, see {@link Points}.
+   */
+  public static long clampToWheel(int x, int y, int width, int height) {
+    float centerX = width * 0.5f;
+    float centerY = height * 0.5f;
+    float dx = x - centerX;
+    float dy = y - centerY;
+    float radius = Math.min(centerX, centerY);
+    double r = Math.sqrt(dx * dx + dy * dy);
+    if (r > radius) {
+      dx *= radius / r;
+      dy *= radius / r;
+    }
+    return Points.pack((int) (dx + centerX), (int) (dy + centerY));
+  }
+
+  /** gets the hue in degrees at a point. */
+  public static float hueAt(float x, float y, int width, int height) {
+    float dx = x - width * 0.5f;
+    float dy = y - height * 0.5f;
+    return (float) (Math.atan2(dy, -dx) / Math.PI * 180f) + 180;
+  }
+
+  /** gets the saturation at a point, 1 on and outside of the wheel's edge. */
+  public static float saturationAt(float x, float y, int width, int height) {
+    float dx = x - width * 0.5f;
+    float dy = y - height * 0.5f;
+    double r = Math.sqrt(dx * dx + dy * dy);
+    float radius = Math.min(width, height) * 0.5f;
+    return ColorMath.clamp01((float) (r / radius));
+  }
+
+  /**
+   * gets the opaque color at a point.
+   *
+   * @param value the HSV value of the wheel.
+   */
+  public static int colorAt(float x, float y, int width, int height, float value) {
+    return ColorMath.hsvToColor(
+        0xFF, hueAt(x, y, width, height), saturationAt(x, y, width, height), value);
+  }
+
+  /**
+   * gets the point of a hue and saturation.
+   *
+   * @return the packed point, see {@link Points}.
+   */
+  public static long pointOf(float hue, float saturation, int width, int height) {
+    float centerX = width * 0.5f;
+    float centerY = height * 0.5f;
+    float radius = saturation * Math.min(centerX, centerY);
+    int x = (int) (radius * Math.cos(Math.toRadians(hue)) + centerX);
+    int y = (int) (-radius * Math.sin(Math.toRadians(hue)) + centerY);
+    return Points.pack(x, y);
+  }
+
+  /**
+   * searches the boundary of an irregular palette on the line from a point towards a point known
+   * to be inside the palette, by bisecting on transparent samples.
+   *
+   * @return the packed point, see {@link Points}.
+   */
+  public static long approximatedPoint(
+      int startX, int startY, int endX, int endY, ColorSampler sampler) {
+    while (distance(startX, startY, endX, endY) > 3) {
+      int centerX = (endX + startX) / 2;
+      int centerY = (endY + startY) / 2;
+      if (sampler.sample(centerX, centerY) == 0) {
+        startX = centerX;
+        startY = centerY;
+      } else {
+        endX = centerX;
+        endY = centerY;
+      }
+    }
+    return Points.pack(endX, endY);
+  }
+
+  private static int distance(int startX, int startY, int endX, int endY) {
+    int dx = endX - startX;
+    int dy = endY - startY;
+    return (int) Math.sqrt(dx * dx + dy * dy);
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.core;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * WheelRasterizer generates the pixels of an HSV wheel into a packed ARGB buffer with the same
+ * math as {@link WheelGeometry#colorAt}, so the pixel at (x, y) equals the color sampled at (x, y).
+ * Pixels outside of the wheel are transparent.
+ */
+public final class WheelRasterizer {
+
+  /** rows below this many pixels are not split further. */
+  private static final int STRIPE_PIXELS = 16 * 1024;
+
+  private static final float EDGE_MARGIN = 1.5f;
+
+  private WheelRasterizer() {}
+
+  /**
+   * rasterizes a wheel on the calling thread.
+   *
+   * @param pixels destination, at least width * height long, in row-major order.
+   * @param value the HSV value of the wheel.
+   */
+  public static void rasterize(int[] pixels, int width, int height, float value) {
+    checkBounds(pixels, width, height);
+    rasterizeRows(pixels, width, height, value, 0, height);
+  }
+
+  /**
+   * rasterizes a wheel in row stripes on a {@link ForkJoinPool}, blocking until done.
+   *
+   * @param pixels destination, at least width * height long, in row-major order.
+   * @param value the HSV value of the wheel.
+   * @param pool pool running the stripes.
+   */
+  public static void rasterize(
+      int[] pixels, int width, int height, float value, ForkJoinPool pool) {
+    checkBounds(pixels, width, height);
+    if (width == 0 || height == 0) {
+      return;
+    }
+    int stripeRows = Math.max(1, STRIPE_PIXELS / width);
+    pool.invoke(new Stripe(pixels, width, height, value, 0, height, stripeRows));
+  }
+
+  /**
+   * rasterizes the rows [fromRow, toRow) of a wheel, for callers splitting the work themselves.
+   *
+   * @param pixels destination of the whole wheel, in row-major order.
+   * @param value the HSV value of the wheel.
+   */
+  public static void rasterizeRows(
+      int[] pixels, int width, int height, float value, int fromRow, int toRow) {
+    float centerX = width * 0.5f;
+    float centerY = height * 0.5f;
+    // clampToWheel truncates towards the top-left, so points clamped onto the edge may land up to
+    // one pixel outside of the radius on each axis; keep those pixels opaque for sampling.
+    float radius = Math.min(centerX, centerY) + EDGE_MARGIN;
+    float radiusSquared = radius * radius;
+    for (int y = fromRow; y < toRow; y++) {
+      float dy = y - centerY;
+      float dySquared = dy * dy;
+      int offset = y * width;
+      for (int x = 0; x < width; x++) {
+        float dx = x - centerX;
+        pixels[offset + x] =
+            dx * dx + dySquared > radiusSquared
+                ? 0
+                : WheelGeometry.colorAt(x, y, width, height, value);
+      }
+    }
+  }
+
+  private static void checkBounds(int[] pixels, int width, int height) {
+    if (width < 0 || height < 0 || pixels.length < (long) width * height) {
+      throw new IllegalArgumentException(
+          "pixels holds " + pixels.length + " pixels, " + width + "x" + height + " needed.");
+    }
+  }
+
+  /** Stripe halves its rows until they are small enough to rasterize directly. */
+  private static final class Stripe extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int[] pixels;
+    private final int width;
+    private final int height;
+    private final float value;
+    private final int fromRow;
+    private final int toRow;
+    private final int stripeRows;
+
+    Stripe(
+        int[] pixels, int width, int height, float value, int fromRow, int toRow, int stripeRows) {
+      this.pixels = pixels;
+      this.width = width;
+      this.height = height;
+      this.value = value;
+      this.fromRow = fromRow;
+      this.toRow = toRow;
+      this.stripeRows = stripeRows;
+    }
+
+    @Override
+    protected void compute() {
+      if (toRow - fromRow <= stripeRows) {
+        rasterizeRows(pixels, width, height, value, fromRow, toRow);
+        return;
+      }
+      int middle = (fromRow + toRow) >>> 1;
+      invokeAll(
+          new Stripe(pixels, width, height, value, fromRow, middle, stripeRows),
+          new Stripe(pixels, width, height, value, middle, toRow, stripeRows));
+    }
+  }
+}
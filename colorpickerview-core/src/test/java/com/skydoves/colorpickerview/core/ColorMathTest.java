@@ -0,0 +1,67 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.core;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class ColorMathTest {
+
+  @Test
+  public void hsvRoundTripsEveryColorOfAGrid() {
+    float[] hsv = new float[3];
+    for (int r = 0; r < 256; r += 15) {
+      for (int g = 0; g < 256; g += 15) {
+        for (int b = 0; b < 256; b += 15) {
+          int color = ColorMath.argb(0xFF, r, g, b);
+          ColorMath.colorToHsv(color, hsv);
+          assertEquals(
+              Integer.toHexString(color),
+              color,
+              ColorMath.hsvToColor(0xFF, hsv[0], hsv[1], hsv[2]));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void colorToHsvOfPrimaries() {
+    float[] hsv = new float[3];
+    ColorMath.colorToHsv(0xFF00FF00, hsv);
+    assertEquals(120f, hsv[0], 0f);
+    assertEquals(1f, hsv[1], 0f);
+    assertEquals(1f, hsv[2], 0f);
+    ColorMath.colorToHsv(0xFF000000, hsv);
+    assertEquals(0f, hsv[1], 0f);
+    assertEquals(0f, hsv[2], 0f);
+  }
+
+  @Test
+  public void hsvToColorWrapsHueAndKeepsAlpha() {
+    assertEquals(0x80FF0000, ColorMath.hsvToColor(0x80, 360f, 1f, 1f));
+    assertEquals(0xFF0000FF, ColorMath.hsvToColor(0xFF, -120f, 1f, 1f));
+  }
+
+  @Test
+  public void hueDeltaTakesTheShorterWayAround() {
+    assertEquals(20f, ColorMath.hueDelta(350f, 10f), 1e-4f);
+    assertEquals(-20f, ColorMath.hueDelta(10f, 350f), 1e-4f);
+    assertEquals(-180f, ColorMath.hueDelta(0f, 180f), 1e-4f);
+    assertEquals(90f, ColorMath.hueDelta(-45f, 405f), 1e-4f);
+  }
+}
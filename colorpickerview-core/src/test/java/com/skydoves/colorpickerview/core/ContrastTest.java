@@ -0,0 +1,54 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ContrastTest {
+
+  private static final int BLACK = 0xFF000000;
+  private static final int WHITE = 0xFFFFFFFF;
+
+  @Test
+  public void blackOnWhiteIsTheMaximumRatio() {
+    assertEquals(21f, Contrast.ratio(BLACK, WHITE), 1e-3f);
+    assertEquals(21f, Contrast.ratio(WHITE, BLACK), 1e-3f);
+  }
+
+  @Test
+  public void aColorOnItselfHasNoContrast() {
+    assertEquals(1f, Contrast.ratio(0xFF3366CC, 0xFF3366CC), 1e-6f);
+  }
+
+  @Test
+  public void luminanceMatchesTheWcagDefinition() {
+    assertEquals(0f, Contrast.luminance(BLACK), 0f);
+    assertEquals(1f, Contrast.luminance(WHITE), 1e-6f);
+    // #777777 linearizes to 0.18447.
+    assertEquals(0.18447f, Contrast.luminance(0xFF777777), 1e-4f);
+  }
+
+  @Test
+  public void greyOnWhitePassesLargeTextOnly() {
+    float ratio = Contrast.ratio(0xFF888888, WHITE);
+    assertTrue(ratio >= Contrast.RATIO_AA_LARGE);
+    assertTrue(ratio < Contrast.RATIO_AA);
+  }
+}
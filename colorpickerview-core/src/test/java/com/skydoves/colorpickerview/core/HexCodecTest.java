@@ -0,0 +1,55 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.core;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class HexCodecTest {
+
+  @Test
+  public void toHexIsUpperCaseAarrggbb() {
+    assertEquals("FF1A2B3C", HexCodec.toHex(0xFF1A2B3C));
+    assertEquals("00000000", HexCodec.toHex(0));
+  }
+
+  @Test
+  public void parseHexAcceptsBothLengthsWithOrWithoutHash() {
+    assertEquals(0xFF1A2B3C, HexCodec.parseHex("#1a2b3c"));
+    assertEquals(0xFF1A2B3C, HexCodec.parseHex("1A2B3C"));
+    assertEquals(0x801A2B3C, HexCodec.parseHex("#801A2B3C"));
+  }
+
+  @Test
+  public void parseHexRoundTripsToHex() {
+    int[] colors = {0, 0xFFFFFFFF, 0x7F00FF80, 0x12345678};
+    for (int color : colors) {
+      assertEquals(color, HexCodec.parseHex(HexCodec.toHex(color)));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void parseHexRejectsOtherLengths() {
+    HexCodec.parseHex("#FFF");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void parseHexRejectsNonHexDigits() {
+    HexCodec.parseHex("#GG0000");
+  }
+}
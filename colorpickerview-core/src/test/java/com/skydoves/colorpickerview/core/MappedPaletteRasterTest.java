@@ -0,0 +1,80 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MappedPaletteRasterTest {
+
+  private static final int WIDTH = 5;
+  private static final int HEIGHT = 3;
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void opensWhatRawPaletteFormatWrites() throws IOException {
+    int[] pixels = new int[WIDTH * HEIGHT];
+    for (int i = 0; i < pixels.length; i++) {
+      pixels[i] = 0x80000000 | (i * 0x010203);
+    }
+    File file = write(pixels, WIDTH, HEIGHT);
+    assertEquals(RawPaletteFormat.fileSize(WIDTH, HEIGHT), file.length());
+
+    MappedPaletteRaster raster = MappedPaletteRaster.open(file);
+    assertEquals(WIDTH, raster.getWidth());
+    assertEquals(HEIGHT, raster.getHeight());
+    for (int y = 0; y < HEIGHT; y++) {
+      for (int x = 0; x < WIDTH; x++) {
+        assertEquals(pixels[y * WIDTH + x], raster.sample(x, y));
+      }
+    }
+    assertEquals(0, raster.sample(WIDTH, 0));
+    assertEquals(0, raster.sample(0, -1));
+
+    int[] row = new int[WIDTH];
+    raster.copyRow(2, row);
+    int[] expected = new int[WIDTH];
+    System.arraycopy(pixels, 2 * WIDTH, expected, 0, WIDTH);
+    assertArrayEquals(expected, row);
+  }
+
+  @Test(expected = IOException.class)
+  public void rejectsTruncatedFiles() throws IOException {
+    File file = write(new int[WIDTH * HEIGHT], WIDTH, HEIGHT);
+    try (OutputStream out = new FileOutputStream(file, false)) {
+      out.write(new byte[RawPaletteFormat.HEADER_BYTES - 1]);
+    }
+    MappedPaletteRaster.open(file);
+  }
+
+  private File write(int[] pixels, int width, int height) throws IOException {
+    File file = folder.newFile();
+    try (OutputStream out = new FileOutputStream(file)) {
+      RawPaletteFormat.write(pixels, width, height, out);
+    }
+    return file;
+  }
+}
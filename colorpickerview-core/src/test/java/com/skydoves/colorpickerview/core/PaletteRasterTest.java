@@ -0,0 +1,61 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class PaletteRasterTest {
+
+  @Test
+  public void downsampleKeepsRastersThatFit() {
+    PaletteRaster raster = new PaletteRaster(new int[16], 4, 4);
+    assertSame(raster, raster.downsample(16));
+  }
+
+  @Test
+  public void downsampleAveragesBlocksWeightedByAlpha() {
+    int[] pixels = {
+      0xFFFF0000, 0xFF0000FF, 0xFF00FF00, 0xFF00FF00,
+      0xFFFF0000, 0xFF0000FF, 0xFF00FF00, 0x0000FF00,
+    };
+    PaletteRaster downsampled = new PaletteRaster(pixels, 4, 2).downsample(2);
+    assertEquals(2, downsampled.getWidth());
+    assertEquals(1, downsampled.getHeight());
+    assertEquals(0xFF800080, downsampled.sample(0, 0));
+    // the transparent pixel lowers the alpha but does not darken the color.
+    assertEquals(0xBF00FF00, downsampled.sample(1, 0));
+  }
+
+  @Test
+  public void downsampleCopiesSamplersThatFit() {
+    PaletteRaster copy = PaletteRaster.downsample((x, y) -> 0xFF000000 | (y << 8) | x, 3, 2, 6);
+    assertEquals(3, copy.getWidth());
+    assertEquals(2, copy.getHeight());
+    assertEquals(0xFF000102, copy.sample(2, 1));
+  }
+
+  @Test
+  public void downsampleFitsIntoTheLimitWhateverTheAspectRatio() {
+    PaletteRaster downsampled = new PaletteRaster(new int[1001], 1001, 1).downsample(100);
+    assertTrue(downsampled.getWidth() * downsampled.getHeight() <= 100);
+    assertEquals(1, downsampled.getHeight());
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.core;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+import org.junit.Test;
+
+public class SummedAreaTableTest {
+
+  private static final int WIDTH = 37;
+  private static final int HEIGHT = 23;
+
+  @Test
+  public void averageMatchesANaiveBoxAverageOfOpaquePixels() {
+    PaletteRaster raster = randomRaster(new Random(42), false);
+    SummedAreaTable table = SummedAreaTable.of(raster);
+    int[] kernels = {1, 2, 3, 8, 15, 64};
+    for (int kernel : kernels) {
+      for (int y = 0; y < HEIGHT; y += 3) {
+        for (int x = 0; x < WIDTH; x += 3) {
+          assertChannelsEqual(naiveAverage(raster, x, y, kernel), table.average(x, y, kernel));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void averageMatchesANaiveBoxAverageOfTranslucentPixels() {
+    PaletteRaster raster = randomRaster(new Random(7), true);
+    SummedAreaTable table = SummedAreaTable.of(raster);
+    for (int y = 0; y < HEIGHT; y += 2) {
+      for (int x = 0; x < WIDTH; x += 2) {
+        assertChannelsEqual(naiveAverage(raster, x, y, 5), table.average(x, y, 5));
+      }
+    }
+  }
+
+  @Test
+  public void kernelOfOneIsThePixelItself() {
+    PaletteRaster raster = randomRaster(new Random(1), false);
+    SummedAreaTable table = SummedAreaTable.of(raster);
+    assertEquals(raster.sample(10, 20), table.average(10, 20, 1));
+  }
+
+  @Test
+  public void averageOutsideOfTheRasterIsTransparent() {
+    SummedAreaTable table = SummedAreaTable.of(randomRaster(new Random(3), false));
+    assertEquals(0, table.average(-1, 0, 3));
+    assertEquals(0, table.average(WIDTH, 0, 3));
+  }
+
+  private static PaletteRaster randomRaster(Random random, boolean translucent) {
+    int[] pixels = new int[WIDTH * HEIGHT];
+    for (int i = 0; i < pixels.length; i++) {
+      int alpha = translucent ? 1 + random.nextInt(255) : 0xFF;
+      pixels[i] = (alpha << 24) | (random.nextInt() & 0xFFFFFF);
+    }
+    return new PaletteRaster(pixels, WIDTH, HEIGHT);
+  }
+
+  /** averages the same clipped box as the table, premultiplied by alpha, in doubles. */
+  private static int naiveAverage(PaletteRaster raster, int x, int y, int kernel) {
+    int right = Math.min(WIDTH, Math.max(0, x - kernel / 2) + kernel);
+    int bottom = Math.min(HEIGHT, Math.max(0, y - kernel / 2) + kernel);
+    int left = Math.max(0, right - kernel);
+    int top = Math.max(0, bottom - kernel);
+    double alpha = 0;
+    double red = 0;
+    double green = 0;
+    double blue = 0;
+    for (int j = top; j < bottom; j++) {
+      for (int i = left; i < right; i++) {
+        int color = raster.sample(i, j);
+        int a = ColorMath.alpha(color);
+        alpha += a;
+        red += ColorMath.red(color) * a;
+        green += ColorMath.green(color) * a;
+        blue += ColorMath.blue(color) * a;
+      }
+    }
+    int area = (right - left) * (bottom - top);
+    return ColorMath.argb(
+        (int) Math.round(alpha / area),
+        (int) Math.round(red / alpha),
+        (int) Math.round(green / alpha),
+        (int) Math.round(blue / alpha));
+  }
+
+  /** the table rounds premultiplied channels per pixel, so allow one step of difference. */
+  private static void assertChannelsEqual(int expected, int actual) {
+    String message = Integer.toHexString(expected) + " vs " + Integer.toHexString(actual);
+    assertEquals(message, ColorMath.alpha(expected), ColorMath.alpha(actual), 1);
+    assertEquals(message, ColorMath.red(expected), ColorMath.red(actual), 1);
+    assertEquals(message, ColorMath.green(expected), ColorMath.green(actual), 1);
+    assertEquals(message, ColorMath.blue(expected), ColorMath.blue(actual), 1);
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.core;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class WheelGeometryTest {
+
+  private static final int SIZE = 400;
+
+  @Test
+  public void pointOfIsTheInverseOfHueAndSaturationAt() {
+    for (float hue = 0f; hue < 360f; hue += 15f) {
+      long point = WheelGeometry.pointOf(hue, 1f, SIZE, SIZE);
+      float x = Points.x(point);
+      float y = Points.y(point);
+      // points are truncated to pixels, which is about a third of a degree on the edge.
+      assertEquals(0f, ColorMath.hueDelta(hue, WheelGeometry.hueAt(x, y, SIZE, SIZE)), 0.5f);
+      assertEquals(1f, WheelGeometry.saturationAt(x, y, SIZE, SIZE), 0.01f);
+    }
+  }
+
+  @Test
+  public void pointOfPlacesHuesCounterClockwiseFromTheRight() {
+    assertPoint(WheelGeometry.pointOf(0f, 1f, SIZE, SIZE), SIZE, SIZE / 2);
+    assertPoint(WheelGeometry.pointOf(90f, 1f, SIZE, SIZE), SIZE / 2, 0);
+    assertPoint(WheelGeometry.pointOf(0f, 0f, SIZE, SIZE), SIZE / 2, SIZE / 2);
+  }
+
+  @Test
+  public void clampToWheelKeepsPointsInsideAndMovesOthersOntoTheEdge() {
+    assertPoint(WheelGeometry.clampToWheel(150, 220, SIZE, SIZE), 150, 220);
+    assertPoint(WheelGeometry.clampToWheel(SIZE * 2, SIZE / 2, SIZE, SIZE), SIZE, SIZE / 2);
+  }
+
+  private static void assertPoint(long point, int x, int y) {
+    assertEquals(x, Points.x(point), 1);
+    assertEquals(y, Points.y(point), 1);
+  }
+}
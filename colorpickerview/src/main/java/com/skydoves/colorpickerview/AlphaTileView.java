@@ -0,0 +1,137 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.util.AttributeSet;
+import android.view.View;
+import androidx.annotation.ColorInt;
+import androidx.annotation.Nullable;
+
+/**
+ * AlphaTileView visualizes a color with alpha over a checkerboard background.
+ *
+ * <p>The checkerboard comes from {@link CheckerboardShaderCache}, so drawing is a single shader
+ * draw and a color overlay per frame.
+ */
+@SuppressWarnings("unused")
+public class AlphaTileView extends View {
+
+  private final Paint tilePaint = new Paint();
+  private final Paint colorPaint = new Paint();
+
+  @Dp private int tileSize = 5;
+  @ColorInt private int tileOddColor = CheckerboardShaderCache.DEFAULT_ODD_COLOR;
+  @ColorInt private int tileEvenColor = CheckerboardShaderCache.DEFAULT_EVEN_COLOR;
+  private boolean tileDirty = true;
+
+  {
+    colorPaint.setColor(Color.TRANSPARENT);
+  }
+
+  public AlphaTileView(Context context) {
+    super(context);
+  }
+
+  public AlphaTileView(Context context, AttributeSet attrs) {
+    super(context, attrs);
+    getAttrs(attrs);
+  }
+
+  public AlphaTileView(Context context, AttributeSet attrs, int defStyleAttr) {
+    super(context, attrs, defStyleAttr);
+    getAttrs(attrs);
+  }
+
+  public AlphaTileView(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
+    super(context, attrs, defStyleAttr, defStyleRes);
+    getAttrs(attrs);
+  }
+
+  private void getAttrs(@Nullable AttributeSet attrs) {
+    TypedArray a = getContext().obtainStyledAttributes(attrs, R.styleable.AlphaTileView);
+    try {
+      tileSize = a.getInt(R.styleable.AlphaTileView_tileSize, tileSize);
+      tileOddColor = a.getColor(R.styleable.AlphaTileView_tileOddColor, tileOddColor);
+      tileEvenColor = a.getColor(R.styleable.AlphaTileView_tileEvenColor, tileEvenColor);
+    } finally {
+      a.recycle();
+    }
+  }
+
+  @Override
+  protected void onDraw(Canvas canvas) {
+    super.onDraw(canvas);
+    if (tileDirty) {
+      tilePaint.setShader(
+          CheckerboardShaderCache.obtain(
+              getContext(), SizeUtils.dp2Px(getContext(), tileSize), tileOddColor, tileEvenColor));
+      tileDirty = false;
+    }
+    canvas.drawRect(0, 0, getWidth(), getHeight(), tilePaint);
+    canvas.drawRect(0, 0, getWidth(), getHeight(), colorPaint);
+  }
+
+  /**
+   * sets a color for drawing over the checkerboard.
+   *
+   * @param color color.
+   */
+  public void setPaintColor(@ColorInt int color) {
+    if (colorPaint.getColor() != color) {
+      colorPaint.setColor(color);
+      invalidate();
+    }
+  }
+
+  /**
+   * gets the color drawn over the checkerboard.
+   *
+   * @return color.
+   */
+  public @ColorInt int getPaintColor() {
+    return colorPaint.getColor();
+  }
+
+  /**
+   * sets a size of a single checkerboard tile.
+   *
+   * @param tileSize a tile size in dp.
+   */
+  public void setTileSize(@Dp int tileSize) {
+    this.tileSize = tileSize;
+    this.tileDirty = true;
+    invalidate();
+  }
+
+  /**
+   * sets colors of the checkerboard tiles.
+   *
+   * @param oddColor color of the odd tiles.
+   * @param evenColor color of the even tiles.
+   */
+  public void setTileColors(@ColorInt int oddColor, @ColorInt int evenColor) {
+    this.tileOddColor = oddColor;
+    this.tileEvenColor = evenColor;
+    this.tileDirty = true;
+    invalidate();
+  }
+}
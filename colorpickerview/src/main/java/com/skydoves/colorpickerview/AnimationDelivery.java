@@ -0,0 +1,30 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview;
+
+/**
+ * AnimationDelivery controls how often the {@link
+ * com.skydoves.colorpickerview.listeners.ColorListener} is invoked while the selector animates.
+ */
+public enum AnimationDelivery {
+  /** invokes listener on every animation frame. */
+  EVERY_FRAME,
+
+  /** invokes listener only when the animation ends. */
+  END
+}
@@ -0,0 +1,146 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import static androidx.annotation.RestrictTo.Scope.LIBRARY_GROUP;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.graphics.Bitmap;
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Shader;
+import androidx.annotation.ColorInt;
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Px;
+import androidx.annotation.RestrictTo;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * CheckerboardShaderCache shares checkerboard {@link BitmapShader}s process-wide.
+ *
+ * <p>The checkerboard is rendered once into a 2x2 tile bitmap per tile size and colors, so every
+ * {@link AlphaTileView} and alpha slider draws its background with a single shader draw. Cached
+ * shaders are dropped on memory pressure; views holding one keep drawing with it.
+ */
+@RestrictTo(LIBRARY_GROUP)
+public final class CheckerboardShaderCache {
+
+  @ColorInt public static final int DEFAULT_ODD_COLOR = 0xFFFFFFFF;
+  @ColorInt public static final int DEFAULT_EVEN_COLOR = 0xFFCBCBCB;
+
+  private static final Map<Key, BitmapShader> shaders = new HashMap<>();
+  private static boolean callbacksRegistered;
+
+  private CheckerboardShaderCache() {}
+
+  /**
+   * gets a repeating checkerboard shader for the given tile size and colors.
+   *
+   * @param context context used for registering the memory pressure callbacks.
+   * @param tileSize a width/height of a single tile in pixels.
+   * @param oddColor color of the odd tiles.
+   * @param evenColor color of the even tiles.
+   * @return a shared {@link BitmapShader}.
+   */
+  @MainThread
+  public static synchronized BitmapShader obtain(
+      @NonNull Context context, @Px int tileSize, @ColorInt int oddColor, @ColorInt int evenColor) {
+    registerCallbacks(context);
+    Key key = new Key(Math.max(1, tileSize), oddColor, evenColor);
+    BitmapShader shader = shaders.get(key);
+    if (shader == null) {
+      shader = createShader(key.tileSize, oddColor, evenColor);
+      shaders.put(key, shader);
+    }
+    return shader;
+  }
+
+  /** releases all the cached checkerboard shaders. */
+  public static synchronized void clear() {
+    shaders.clear();
+  }
+
+  private static BitmapShader createShader(int tileSize, int oddColor, int evenColor) {
+    Bitmap tile = Bitmap.createBitmap(tileSize * 2, tileSize * 2, Bitmap.Config.ARGB_8888);
+    Canvas canvas = new Canvas(tile);
+    canvas.drawColor(evenColor);
+    Paint paint = new Paint();
+    paint.setColor(oddColor);
+    canvas.drawRect(0, 0, tileSize, tileSize, paint);
+    canvas.drawRect(tileSize, tileSize, tileSize * 2, tileSize * 2, paint);
+    return new BitmapShader(tile, Shader.TileMode.REPEAT, Shader.TileMode.REPEAT);
+  }
+
+  private static void registerCallbacks(Context context) {
+    if (callbacksRegistered) {
+      return;
+    }
+    callbacksRegistered = true;
+    context
+        .getApplicationContext()
+        .registerComponentCallbacks(
+            new ComponentCallbacks2() {
+              @Override
+              public void onTrimMemory(int level) {
+                if (level >= TRIM_MEMORY_RUNNING_LOW) {
+                  clear();
+                }
+              }
+
+              @Override
+              public void onConfigurationChanged(@NonNull Configuration newConfig) {}
+
+              @Override
+              public void onLowMemory() {
+                clear();
+              }
+            });
+  }
+
+  private static final class Key {
+    private final int tileSize;
+    private final int oddColor;
+    private final int evenColor;
+
+    private Key(int tileSize, int oddColor, int evenColor) {
+      this.tileSize = tileSize;
+      this.oddColor = oddColor;
+      this.evenColor = evenColor;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return tileSize == other.tileSize
+          && oddColor == other.oddColor
+          && evenColor == other.evenColor;
+    }
+
+    @Override
+    public int hashCode() {
+      return (tileSize * 31 + oddColor) * 31 + evenColor;
+    }
+  }
+}
@@ -25,6 +25,7 @@ public class ColorEnvelope {
   @ColorInt private int color;
   private String hexCode;
   private int[] argb;
+  private int samplingKernelSize = 1;
 
   public ColorEnvelope(@ColorInt int color) {
     this.color = color;
@@ -32,6 +33,15 @@ public class ColorEnvelope {
     this.argb = ColorUtils.getColorARGB(color);
   }
 
+  /**
+   * @param samplingKernelSize width and height of the box of palette pixels the color was
+   *     averaged over.
+   */
+  public ColorEnvelope(@ColorInt int color, int samplingKernelSize) {
+    this(color);
+    this.samplingKernelSize = samplingKernelSize;
+  }
+
   /**
    * gets envelope's color.
    *
@@ -58,4 +68,32 @@ public class ColorEnvelope {
   public int[] getArgb() {
     return argb;
   }
+
+  /**
+   * gets the WCAG relative luminance of envelope's color.
+   *
+   * @return luminance [0, 1].
+   */
+  public float getLuminance() {
+    return ColorUtils.calculateLuminance(color);
+  }
+
+  /**
+   * gets the WCAG contrast ratio of envelope's color on a background.
+   *
+   * @param background background color.
+   * @return ratio [1, 21].
+   */
+  public float getContrastRatio(@ColorInt int background) {
+    return ColorUtils.calculateContrast(color, background);
+  }
+
+  /**
+   * gets the width and height of the box of palette pixels the color was averaged over.
+   *
+   * @return kernel size, 1 for a single pixel.
+   */
+  public int getSamplingKernelSize() {
+    return samplingKernelSize;
+  }
 }
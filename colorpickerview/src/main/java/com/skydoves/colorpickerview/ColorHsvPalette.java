@@ -21,32 +21,170 @@ import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.ColorFilter;
+import android.graphics.ColorMatrix;
+import android.graphics.ColorMatrixColorFilter;
 import android.graphics.Paint;
 import android.graphics.PixelFormat;
 import android.graphics.RadialGradient;
 import android.graphics.Shader;
 import android.graphics.SweepGradient;
 import android.graphics.drawable.BitmapDrawable;
+import androidx.annotation.FloatRange;
+import androidx.annotation.MainThread;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import com.skydoves.colorpickerview.core.ColorMath;
 
 /**
  * ColorHsvPalette is a default drawable palette built by HSV (hue, saturation, value) color model
  * for alternating representations of the RGB color model.
+ *
+ * <p>It draws the wheel with gradients, or draws a rasterized wheel from {@link HsvWheelPool} when
+ * created with a ready one. The wheel is drawn at value 1 and darkened by {@link
+ * #setBrightness(float)} through a color filter, so changing the brightness never re-rasterizes
+ * it. The brightness is quantized to 1/255 and each level's filter is created once and shared, so
+ * slider drags allocate no filters.
  */
 public class ColorHsvPalette extends BitmapDrawable {
 
+  private static final int BRIGHTNESS_LEVELS = 255;
+  /** the alpha of the white the wheel is tinted with while its picker is disabled. */
+  private static final float DISABLED_TINT = 70 / 255f;
+  private static final ColorFilter[] brightnessFilters = new ColorFilter[BRIGHTNESS_LEVELS];
+
   private final Paint huePaint;
   private final Paint saturationPaint;
+  @Nullable private final HsvWheelPool.Entry wheel;
+
+  @Nullable private ColorFilter brightnessFilter;
+  @Nullable private ColorFilter colorFilter;
+  @Nullable private ColorFilter disabledFilter;
+  private float brightness = 1f;
+  private boolean disabled;
 
   public ColorHsvPalette(Resources resources, Bitmap bitmap) {
     super(resources, bitmap);
     this.huePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
     this.saturationPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    this.wheel = null;
+  }
+
+  /** creates a palette drawing with gradients, without a backing bitmap. */
+  ColorHsvPalette(Resources resources) {
+    this(resources, (Bitmap) null);
+  }
+
+  /** creates a palette drawing a {@link HsvWheelPool.Entry#isReady() ready} wheel. */
+  ColorHsvPalette(Resources resources, @NonNull HsvWheelPool.Entry wheel) {
+    super(resources, wheel.getBitmap());
+    this.huePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    this.saturationPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    this.wheel = wheel;
+  }
+
+  /**
+   * sets the HSV value the wheel is drawn with, by scaling its RGB channels on the paint.
+   *
+   * @param brightness HSV value, quantized to 1/255; 1 draws the wheel unchanged.
+   */
+  public void setBrightness(@FloatRange(from = 0.0, to = 1.0) float brightness) {
+    brightness = quantizeBrightness(brightness);
+    if (this.brightness == brightness) {
+      return;
+    }
+    this.brightness = brightness;
+    brightnessFilter = brightnessFilter(brightness);
+    disabledFilter = disabled ? disabledFilter(brightness) : null;
+    applyColorFilters();
+  }
+
+  /**
+   * tints the wheel white like a disabled picker. The tint is composed with the brightness, so a
+   * darkened wheel stays dark.
+   */
+  void setDisabled(boolean disabled) {
+    if (this.disabled == disabled) {
+      return;
+    }
+    this.disabled = disabled;
+    disabledFilter = disabled ? disabledFilter(brightness) : null;
+    applyColorFilters();
+  }
+
+  /**
+   * creates a filter scaling RGB channels by an HSV value and then blending white over them like
+   * a {@link android.graphics.PorterDuff.Mode#SRC_ATOP} tint.
+   */
+  private static ColorFilter disabledFilter(float brightness) {
+    float scale = brightness * (1f - DISABLED_TINT);
+    float tint = 255 * DISABLED_TINT;
+    ColorMatrix matrix =
+        new ColorMatrix(
+            new float[] {
+              scale, 0, 0, 0, tint,
+              0, scale, 0, 0, tint,
+              0, 0, scale, 0, tint,
+              0, 0, 0, 1, 0
+            });
+    return new ColorMatrixColorFilter(matrix);
+  }
+
+  /** quantizes an HSV value to the 1/255 steps the wheel is drawn with. */
+  static float quantizeBrightness(float brightness) {
+    int level = Math.round(ColorMath.clamp01(brightness) * BRIGHTNESS_LEVELS);
+    return level / (float) BRIGHTNESS_LEVELS;
+  }
+
+  /**
+   * gets the shared filter scaling RGB channels by an HSV value.
+   *
+   * @param brightness HSV value, quantized to 1/255.
+   * @return the filter, or null for 1.
+   */
+  @MainThread
+  @Nullable
+  static ColorFilter brightnessFilter(float brightness) {
+    int level = Math.round(ColorMath.clamp01(brightness) * BRIGHTNESS_LEVELS);
+    if (level == BRIGHTNESS_LEVELS) {
+      return null;
+    }
+    ColorFilter filter = brightnessFilters[level];
+    if (filter == null) {
+      float scale = level / (float) BRIGHTNESS_LEVELS;
+      ColorMatrix matrix = new ColorMatrix();
+      matrix.setScale(scale, scale, scale, 1f);
+      filter = new ColorMatrixColorFilter(matrix);
+      brightnessFilters[level] = filter;
+    }
+    return filter;
+  }
+
+  /** gets the HSV value the wheel is drawn with. */
+  public float getBrightness() {
+    return brightness;
+  }
+
+  /** gets the pooled wheel this palette draws, or null when it draws with gradients. */
+  @Nullable
+  HsvWheelPool.Entry getWheel() {
+    return wheel;
   }
 
   @Override
   public void draw(@NonNull Canvas canvas) {
+    if (wheel != null) {
+      super.draw(canvas);
+      return;
+    }
+    boolean traced = ColorPickerTrace.begin(ColorPickerTrace.SECTION_HSV_PALETTE_DRAW);
+    try {
+      drawWheel(canvas);
+    } finally {
+      ColorPickerTrace.end(traced);
+    }
+  }
+
+  private void drawWheel(Canvas canvas) {
     int width = getBounds().width();
     int height = getBounds().height();
     float centerX = width * 0.5f;
@@ -75,16 +213,37 @@ public class ColorHsvPalette extends BitmapDrawable {
 
   @Override
   public void setAlpha(int alpha) {
-    huePaint.setAlpha(alpha);
+    if (wheel != null) {
+      super.setAlpha(alpha);
+    } else {
+      huePaint.setAlpha(alpha);
+    }
   }
 
   @Override
   public void setColorFilter(@Nullable ColorFilter colorFilter) {
-    huePaint.setColorFilter(colorFilter);
+    this.colorFilter = colorFilter;
+    applyColorFilters();
+  }
+
+  /**
+   * applies the external color filter, which takes precedence, or the brightness filter composed
+   * with the disabled tint.
+   */
+  private void applyColorFilters() {
+    ColorFilter own = disabledFilter != null ? disabledFilter : brightnessFilter;
+    ColorFilter filter = colorFilter != null ? colorFilter : own;
+    if (wheel != null) {
+      super.setColorFilter(filter);
+    } else {
+      huePaint.setColorFilter(filter);
+      saturationPaint.setColorFilter(own);
+      invalidateSelf();
+    }
   }
 
   @Override
   public int getOpacity() {
-    return PixelFormat.OPAQUE;
+    return wheel != null ? PixelFormat.TRANSLUCENT : PixelFormat.OPAQUE;
   }
 }
@@ -0,0 +1,86 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import static androidx.annotation.RestrictTo.Scope.LIBRARY_GROUP;
+
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RestrictTo;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * ColorPickerExecutors holds the threads the library runs palette work on: a single background
+ * thread for work started from the main thread, and a {@link ForkJoinPool} for splitting that
+ * work into stripes.
+ */
+@RestrictTo(LIBRARY_GROUP)
+public final class ColorPickerExecutors {
+
+  private static ExecutorService background;
+  private static ForkJoinPool pool;
+  private static Handler mainHandler;
+
+  private ColorPickerExecutors() {}
+
+  /** gets the background executor, a single daemon thread. */
+  @NonNull
+  public static synchronized Executor background() {
+    if (background == null) {
+      background =
+          Executors.newSingleThreadExecutor(
+              runnable -> {
+                Thread thread = new Thread(runnable, "ColorPickerView-background");
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+    return background;
+  }
+
+  /** posts a runnable to the main thread. */
+  public static synchronized void postToMain(@NonNull Runnable runnable) {
+    if (mainHandler == null) {
+      mainHandler = new Handler(Looper.getMainLooper());
+    }
+    mainHandler.post(runnable);
+  }
+
+  /**
+   * gets the pool for striped work: the common pool from API 24, a pool sized to the processors
+   * on API 21-23, and null below API 21 where work runs on the calling thread.
+   */
+  @Nullable
+  public static synchronized ForkJoinPool forkJoinPool() {
+    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
+      return null;
+    }
+    if (pool == null) {
+      pool =
+          Build.VERSION.SDK_INT >= Build.VERSION_CODES.N
+              ? ForkJoinPool.commonPool()
+              : new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+    return pool;
+  }
+}
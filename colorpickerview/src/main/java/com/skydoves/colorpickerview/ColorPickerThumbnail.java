@@ -0,0 +1,246 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.RadialGradient;
+import android.graphics.Shader;
+import android.graphics.drawable.Drawable;
+import androidx.annotation.ColorInt;
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.Px;
+import androidx.appcompat.content.res.AppCompatResources;
+import com.skydoves.colorpickerview.core.ColorMath;
+import com.skydoves.colorpickerview.core.Points;
+import com.skydoves.colorpickerview.core.WheelGeometry;
+
+/**
+ * ColorPickerThumbnail paints a static preview of a {@link ColorPickerView} onto any {@link
+ * Canvas}: the HSV wheel, the selector at a color and an optional glow in that color around the
+ * wheel, e.g. for color presets in list rows.
+ *
+ * <p>Share one thumbnail between the rows of a list. Call {@link #prepare(Runnable)} when the list
+ * is set up: the wheel raster is taken from {@link HsvWheelPool}, shared with every picker and
+ * thumbnail of the same size, and rasterized in the background when no holder has it. Drawing
+ * never rasterizes, and the wheel is darkened through shared filters, so binding a row inflates
+ * no views and allocates nothing. Call {@link #release()} once it is not drawn anymore.
+ */
+@MainThread
+public final class ColorPickerThumbnail {
+
+  private static final int DEFAULT_GLOW_EXTENT_DP = 4;
+
+  private final Paint wheelPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+  private final Paint glowPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+  private final float[] hsv = new float[3];
+
+  @Px private final int size;
+  private Drawable selectorDrawable;
+  @Px private int selectorSize;
+  private boolean glowEnabled;
+  @Px private int glowExtent;
+
+  @Nullable private HsvWheelPool.Entry wheel;
+  private boolean prepared;
+  @Nullable private Runnable onReady;
+  private final Runnable wheelReady = this::onWheelReady;
+  @Nullable private Bitmap glowMask;
+  private float brightness = 1f;
+
+  /**
+   * @param size width and height of the thumbnail, including the glow.
+   */
+  public ColorPickerThumbnail(@NonNull Context context, @Px int size) {
+    if (size <= 0) {
+      throw new IllegalArgumentException("size must be positive, was " + size);
+    }
+    this.size = size;
+    this.selectorDrawable =
+        AppCompatResources.getDrawable(context, R.drawable.colorpicker_thumb).mutate();
+    this.selectorSize = size / 4;
+    this.glowExtent = SizeUtils.dp2Px(context, DEFAULT_GLOW_EXTENT_DP);
+  }
+
+  /** gets the width and height of the thumbnail. */
+  @Px
+  public int getSize() {
+    return size;
+  }
+
+  /** sets the selector drawable, shared by every row; it should not be mutated while drawn. */
+  public void setSelectorDrawable(@NonNull Drawable drawable) {
+    this.selectorDrawable = drawable;
+  }
+
+  /** sets the width and height of the selector, a quarter of the thumbnail by default. */
+  public void setSelectorSize(@Px int selectorSize) {
+    this.selectorSize = Math.max(0, selectorSize);
+  }
+
+  /**
+   * sets whether a glow in the selected color is drawn around the wheel. The wheel shrinks by the
+   * glow extent on each side, so the thumbnail keeps its size.
+   */
+  public void setGlowEnabled(boolean glowEnabled) {
+    if (this.glowEnabled != glowEnabled) {
+      this.glowEnabled = glowEnabled;
+      reacquireWheel();
+    }
+  }
+
+  /** sets the width of the glow around the wheel, 4dp by default. */
+  public void setGlowExtent(@Px int glowExtent) {
+    glowExtent = Math.max(0, Math.min(glowExtent, size / 4));
+    if (this.glowExtent != glowExtent) {
+      this.glowExtent = glowExtent;
+      glowMask = null;
+      if (glowEnabled) {
+        reacquireWheel();
+      }
+    }
+  }
+
+  /**
+   * acquires the shared wheel ahead of drawing, rasterizing it in the background when needed.
+   * Until it is ready, {@link #draw} draws no wheel.
+   *
+   * @param onReady invoked on the main thread once the wheel is ready, right away when it already
+   *     is, and again after a glow change resizes the wheel, e.g. for invalidating the list; or
+   *     null.
+   */
+  public void prepare(@Nullable Runnable onReady) {
+    this.onReady = onReady;
+    if (!prepared) {
+      prepared = true;
+      acquireWheel();
+    }
+  }
+
+  /**
+   * draws the thumbnail with its top left corner at a point.
+   *
+   * @param color selected color; its hue and saturation place the selector and its HSV value
+   *     darkens the wheel.
+   */
+  public void draw(@NonNull Canvas canvas, float left, float top, @ColorInt int color) {
+    int inset = glowEnabled ? glowExtent : 0;
+    int wheelSize = size - 2 * inset;
+    ColorMath.colorToHsv(color, hsv);
+    applyBrightness(hsv[2]);
+
+    int saved = canvas.save();
+    canvas.translate(left, top);
+    if (glowEnabled && inset > 0) {
+      glowPaint.setShader(glowShader());
+      glowPaint.setColor(color | 0xFF000000);
+      canvas.drawRect(0, 0, size, size, glowPaint);
+    }
+    Bitmap wheelBitmap = wheel != null ? wheel.getBitmap() : null;
+    if (wheelBitmap != null) {
+      canvas.drawBitmap(wheelBitmap, inset, inset, wheelPaint);
+    }
+
+    long point = WheelGeometry.pointOf(hsv[0], hsv[1], wheelSize, wheelSize);
+    int x = inset + Points.x(point);
+    int y = inset + Points.y(point);
+    int half = selectorSize / 2;
+    selectorDrawable.setBounds(
+        x - half, y - half, x - half + selectorSize, y - half + selectorSize);
+    selectorDrawable.draw(canvas);
+    canvas.restoreToCount(saved);
+  }
+
+  /** releases the shared wheel; call {@link #prepare(Runnable)} before drawing again. */
+  public void release() {
+    prepared = false;
+    onReady = null;
+    releaseWheel();
+    glowMask = null;
+    glowPaint.setShader(null);
+  }
+
+  private void acquireWheel() {
+    int wheelSize = size - 2 * (glowEnabled ? glowExtent : 0);
+    wheel = HsvWheelPool.acquire(wheelSize, wheelSize, 1f);
+    HsvWheelPool.whenReady(wheel, wheelReady);
+  }
+
+  /** swaps the wheel for one of the current wheel size, when prepared. */
+  private void reacquireWheel() {
+    releaseWheel();
+    if (prepared) {
+      acquireWheel();
+    }
+  }
+
+  private void releaseWheel() {
+    if (wheel != null) {
+      HsvWheelPool.removeCallback(wheel, wheelReady);
+      HsvWheelPool.release(wheel);
+      wheel = null;
+    }
+  }
+
+  private void onWheelReady() {
+    if (onReady != null) {
+      onReady.run();
+    }
+  }
+
+  /** darkens the wheel with the shared filters of {@link ColorHsvPalette}, only on changes. */
+  private void applyBrightness(float value) {
+    value = ColorHsvPalette.quantizeBrightness(value);
+    if (brightness == value) {
+      return;
+    }
+    brightness = value;
+    wheelPaint.setColorFilter(ColorHsvPalette.brightnessFilter(value));
+  }
+
+  /**
+   * gets a shader of an alpha mask fading out from the wheel edge, which the paint color tints, so
+   * rows of different colors share it.
+   */
+  private Shader glowShader() {
+    Shader shader = glowPaint.getShader();
+    if (glowMask != null && shader != null) {
+      return shader;
+    }
+    float center = size * 0.5f;
+    float edge = 1f - (float) glowExtent / center;
+    Paint gradientPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    gradientPaint.setShader(
+        new RadialGradient(
+            center,
+            center,
+            center,
+            new int[] {Color.TRANSPARENT, 0xA0FFFFFF, Color.TRANSPARENT},
+            new float[] {edge * 0.9f, edge, 1f},
+            Shader.TileMode.CLAMP));
+    glowMask = Bitmap.createBitmap(size, size, Bitmap.Config.ALPHA_8);
+    new Canvas(glowMask).drawCircle(center, center, center, gradientPaint);
+    return new BitmapShader(glowMask, Shader.TileMode.CLAMP, Shader.TileMode.CLAMP);
+  }
+}
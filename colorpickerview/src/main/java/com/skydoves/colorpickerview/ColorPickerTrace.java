@@ -0,0 +1,107 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import android.os.Build;
+import android.os.Trace;
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ColorPickerTrace emits named system trace sections (visible in Perfetto and systrace) around the
+ * picker's hot paths. Tracing is off by default; when enabled, one in every {@link
+ * #setSamplingRate(int)} sections is recorded.
+ *
+ * <p>Sections are opened with {@link #begin(String)} and closed with {@link #end(boolean)} using
+ * the value returned by {@code begin}, so skipped sections never emit an unbalanced end.
+ */
+public final class ColorPickerTrace {
+
+  public static final String SECTION_SAMPLE = "ColorPicker:sample";
+  public static final String SECTION_SNAP = "ColorPicker:snap";
+  public static final String SECTION_DISPATCH = "ColorPicker:dispatch";
+  public static final String SECTION_PREPARE_PALETTE = "ColorPicker:preparePalette";
+  public static final String SECTION_HSV_PALETTE_DRAW = "ColorHsvPalette:draw";
+  public static final String SECTION_SLIDE_BAR_DRAW = "SlideBar:draw";
+  public static final String SECTION_SLIDE_BAR_DISPATCH = "SlideBar:dispatch";
+
+  private static volatile boolean enabled = false;
+  private static volatile int samplingRate = 1;
+  private static final AtomicInteger counter = new AtomicInteger();
+
+  private ColorPickerTrace() {}
+
+  /** sets whether the library emits trace sections. */
+  public static void setEnabled(boolean enabled) {
+    ColorPickerTrace.enabled = enabled;
+  }
+
+  /** gets whether the library emits trace sections. */
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * sets the sampling rate; only one in every {@code rate} sections is recorded.
+   *
+   * @param rate 1 records every section.
+   */
+  public static void setSamplingRate(@IntRange(from = 1) int rate) {
+    if (rate < 1) {
+      throw new IllegalArgumentException("sampling rate must be at least 1, was " + rate);
+    }
+    samplingRate = rate;
+  }
+
+  /** gets the sampling rate. */
+  public static int getSamplingRate() {
+    return samplingRate;
+  }
+
+  /**
+   * opens a trace section if tracing is enabled and this section is sampled.
+   *
+   * @param sectionName section name, at most 127 characters.
+   * @return whether a section was opened; pass it to {@link #end(boolean)}.
+   */
+  public static boolean begin(@NonNull String sectionName) {
+    if (!enabled || Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN_MR2) {
+      return false;
+    }
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && !Trace.isEnabled()) {
+      return false;
+    }
+    int rate = samplingRate;
+    if (rate > 1 && counter.getAndIncrement() % rate != 0) {
+      return false;
+    }
+    Trace.beginSection(sectionName);
+    return true;
+  }
+
+  /**
+   * closes a trace section opened by {@link #begin(String)}.
+   *
+   * @param began the value returned by the matching {@link #begin(String)}.
+   */
+  public static void end(boolean began) {
+    if (began && Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+      Trace.endSection();
+    }
+  }
+}
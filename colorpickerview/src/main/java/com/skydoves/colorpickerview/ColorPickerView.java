@@ -16,35 +16,48 @@
 
 package com.skydoves.colorpickerview;
 
+import android.animation.TimeInterpolator;
 import android.annotation.SuppressLint;
 import android.content.Context;
 import android.content.res.TypedArray;
-import android.graphics.Bitmap;
 import android.graphics.Color;
-import android.graphics.Matrix;
 import android.graphics.Point;
-import android.graphics.Rect;
-import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.Drawable;
 import android.util.AttributeSet;
 import android.view.Gravity;
 import android.view.MotionEvent;
+import android.view.View;
 import android.view.ViewGroup;
-import android.view.ViewTreeObserver;
 import android.widget.FrameLayout;
 import android.widget.ImageView;
 
 import androidx.annotation.ColorInt;
 import androidx.annotation.ColorRes;
+import androidx.annotation.DrawableRes;
 import androidx.annotation.FloatRange;
+import androidx.annotation.IntRange;
 import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.Px;
+import androidx.annotation.VisibleForTesting;
 import androidx.appcompat.content.res.AppCompatResources;
 import androidx.core.content.ContextCompat;
-
+import androidx.core.view.ViewCompat;
+
+import com.skydoves.colorpickerview.core.ColorMath;
+import com.skydoves.colorpickerview.core.Points;
+import com.skydoves.colorpickerview.core.SummedAreaTable;
+import com.skydoves.colorpickerview.core.WheelGeometry;
+import com.skydoves.colorpickerview.flag.FlagMode;
+import com.skydoves.colorpickerview.flag.FlagView;
 import com.skydoves.colorpickerview.listeners.ColorEnvelopeListener;
 import com.skydoves.colorpickerview.listeners.ColorListener;
 import com.skydoves.colorpickerview.listeners.ColorPickerViewListener;
+import com.skydoves.colorpickerview.listeners.DominantColorsListener;
+import com.skydoves.colorpickerview.metrics.ColorPickerMetrics;
+import com.skydoves.colorpickerview.sliders.SlideBar;
+import java.util.ArrayList;
 
 /**
  * ColorPickerView implements getting HSV colors, ARGB values, Hex color codes from any image
@@ -64,14 +77,64 @@ public class ColorPickerView extends FrameLayout {
   private ImageView palette;
   private ImageView selector;
   private Drawable paletteDrawable;
+  @DrawableRes
+  private int paletteResource;
   private Drawable selectorDrawable;
+  @DrawableRes
+  private int selectorResource = R.drawable.colorpicker_thumb;
+  private FlagView flagView;
+  private LoupeView loupeView;
+  private final ArrayList<SlideBar> slideBars = new ArrayList<>();
   public ColorListener colorListener;
 
+  private boolean flagFlipAble = true;
+  private boolean overlayRefreshPending;
+  private final Runnable overlayRefresh = this::refreshOverlays;
+  private final OnLayoutChangeListener overlayLaidOut =
+      new OnLayoutChangeListener() {
+        @Override
+        public void onLayoutChange(
+            View view,
+            int left,
+            int top,
+            int right,
+            int bottom,
+            int oldLeft,
+            int oldTop,
+            int oldRight,
+            int oldBottom) {
+          view.removeOnLayoutChangeListener(this);
+          scheduleOverlayRefresh();
+        }
+      };
+
+  private ColorPickerMetrics metrics;
+  private int probes;
+
+  private PaletteGeometry geometry;
+  private HsvWheelPool.Entry wheel;
+  private final Runnable wheelReady = this::onWheelReady;
+  private final TiledImagePalette.OnTileDecodedListener tileDecoded = this::onTileDecoded;
+  private float paletteBrightness = 1f;
+  private int samplingKernelSize = 1;
+  private final PaletteGeometry.Selection selection = new PaletteGeometry.Selection();
+
+  @Nullable private SelectionAnimator selectionAnimator;
+  private long selectionAnimationDuration = SelectionAnimator.DEFAULT_DURATION;
+  @Nullable private TimeInterpolator selectionAnimationInterpolator;
+  private AnimationDelivery animationDelivery = AnimationDelivery.EVERY_FRAME;
+
+  private boolean selectionPending = true;
+  private boolean initialColorPending;
+  @ColorInt
+  private int initialColor;
+
   @Px
   private int selectorSize = 0;
 
   public ColorPickerView(Context context) {
     super(context);
+    onCreate();
   }
 
   public ColorPickerView(Context context, AttributeSet attrs) {
@@ -96,17 +159,22 @@ public class ColorPickerView extends FrameLayout {
     TypedArray a = getContext().obtainStyledAttributes(attrs, R.styleable.ColorPickerView);
     try {
       if (a.hasValue(R.styleable.ColorPickerView_palette)) {
-        this.paletteDrawable = a.getDrawable(R.styleable.ColorPickerView_palette);
+        this.paletteResource = a.getResourceId(R.styleable.ColorPickerView_palette, 0);
+        if (paletteResource == 0) {
+          // not a resource reference, e.g. a color literal; it is cheap to resolve now.
+          this.paletteDrawable = a.getDrawable(R.styleable.ColorPickerView_palette);
+        }
       }
       if (a.hasValue(R.styleable.ColorPickerView_selector)) {
-        int resourceId = a.getResourceId(R.styleable.ColorPickerView_selector, -1);
-        if (resourceId != -1) {
-          this.selectorDrawable = AppCompatResources.getDrawable(getContext(), resourceId);
-        }
+        this.selectorResource =
+            a.getResourceId(R.styleable.ColorPickerView_selector, selectorResource);
       }
       if (a.hasValue(R.styleable.ColorPickerView_selector_size)) {
         this.selectorSize = a.getDimensionPixelSize(R.styleable.ColorPickerView_selector_size, selectorSize);
       }
+      if (a.hasValue(R.styleable.ColorPickerView_flag_isFlipAble)) {
+        this.flagFlipAble = a.getBoolean(R.styleable.ColorPickerView_flag_isFlipAble, flagFlipAble);
+      }
       if (a.hasValue(R.styleable.ColorPickerView_initialColor)) {
         setInitialColor(a.getColor(R.styleable.ColorPickerView_initialColor, Color.WHITE));
       }
@@ -117,54 +185,113 @@ public class ColorPickerView extends FrameLayout {
 
   private void onCreate() {
     setPadding(0, 0, 0, 0);
-    palette = new ImageView(getContext());
-    if (paletteDrawable != null) {
-      palette.setImageDrawable(paletteDrawable);
-    }
+  }
 
+  /**
+   * creates the palette and selector views on the first measure, or when the API needs them
+   * earlier, so inflation itself creates no children and loads no drawables.
+   *
+   * @param inLayout true when called while measuring, which lays the children out anyway.
+   */
+  private void ensureChildren(boolean inLayout) {
+    if (palette != null) {
+      return;
+    }
+    if (paletteResource != 0) {
+      paletteDrawable = AppCompatResources.getDrawable(getContext(), paletteResource);
+      paletteResource = 0;
+    }
+    palette = new ImageView(getContext());
     LayoutParams paletteParam = new LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT);
     paletteParam.gravity = Gravity.CENTER;
-    addView(palette, paletteParam);
+    addViewInLayout(palette, 0, paletteParam, true);
+    applyPalette(paletteDrawable);
 
     selector = new ImageView(getContext());
-    if (selectorDrawable != null) {
-      selector.setImageDrawable(selectorDrawable);
-    } else {
-      selector.setImageDrawable(ContextCompat.getDrawable(getContext(), R.drawable.colorpicker_thumb));
+    if (selectorDrawable == null) {
+      selectorDrawable = AppCompatResources.getDrawable(getContext(), selectorResource);
     }
+    selector.setImageDrawable(selectorDrawable);
     LayoutParams selectorParam = new LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
     if (selectorSize != 0) {
       selectorParam.width = SizeUtils.dp2Px(getContext(), selectorSize);
       selectorParam.height = SizeUtils.dp2Px(getContext(), selectorSize);
     }
     selectorParam.gravity = Gravity.CENTER;
-    addView(selector, selectorParam);
+    addViewInLayout(selector, 1, selectorParam, true);
 
-    getViewTreeObserver().addOnGlobalLayoutListener(new ViewTreeObserver.OnGlobalLayoutListener() {
-      @Override
-      public void onGlobalLayout() {
-        getViewTreeObserver().removeOnGlobalLayoutListener(this);
-        onFinishInflated();
-      }
-    });
+    if (!isEnabled()) {
+      applyEnabled(false);
+    }
+    if (!inLayout) {
+      requestLayout();
+      invalidate();
+    }
+  }
+
+  @Override
+  protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+    ensureChildren(true);
+    super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+  }
+
+  @Override
+  protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+    super.onLayout(changed, left, top, right, bottom);
+    if (selectionPending && getWidth() > 0 && getHeight() > 0) {
+      selectionPending = false;
+      onFirstLayout();
+    }
   }
 
   @Override
   protected void onSizeChanged(int width, int height, int oldWidth, int oldHeight) {
     super.onSizeChanged(width, height, oldWidth, oldHeight);
 
-    if (palette.getDrawable() == null) {
-      Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
-      palette.setImageDrawable(new ColorHsvPalette(getResources(), bitmap));
+    if (paletteDrawable == null && width > 0 && height > 0) {
+      applyHsvPalette(width, height);
     }
   }
 
-  private void onFinishInflated() {
+  @Override
+  protected void onAttachedToWindow() {
+    super.onAttachedToWindow();
+    if (wheel == null && isHuePalette()) {
+      HsvWheelPool.Entry released = ((ColorHsvPalette) palette.getDrawable()).getWheel();
+      if (released != null) {
+        wheel = HsvWheelPool.retain(released);
+        if (wheel != released) {
+          showWheel();
+        }
+      } else if (paletteDrawable == null && getWidth() > 0 && getHeight() > 0) {
+        // detached before the wheel was rasterized.
+        applyHsvPalette(getWidth(), getHeight());
+      }
+    }
+  }
+
+  @Override
+  protected void onDetachedFromWindow() {
+    super.onDetachedFromWindow();
+    removeCallbacks(overlayRefresh);
+    overlayRefreshPending = false;
+    cancelSelectionAnimation();
+    // the palette keeps drawing the released raster; it is retained again on attach.
+    releaseWheel();
+  }
+
+  /** selects the initial color, or the center of the palette, in a single pass. */
+  private void onFirstLayout() {
     if (getParent() != null && getParent() instanceof ViewGroup) {
       ((ViewGroup) getParent()).setClipChildren(false);
     }
 
-    selectCenter();
+    if (initialColorPending && isHuePalette()) {
+      selectHsvColor(initialColor);
+    } else {
+      selectCenter();
+    }
+    initialColorPending = false;
   }
 
   @SuppressLint("ClickableViewAccessibility")
@@ -175,6 +302,12 @@ public class ColorPickerView extends FrameLayout {
     }
     int actionMasked = event.getActionMasked();
     if (actionMasked == MotionEvent.ACTION_DOWN || actionMasked == MotionEvent.ACTION_MOVE || actionMasked == MotionEvent.ACTION_UP) {
+      if (actionMasked == MotionEvent.ACTION_DOWN) {
+        cancelSelectionAnimation();
+      }
+      if (flagView != null) {
+        flagView.receiveOnTouchEvent(event);
+      }
       selector.setPressed(true);
       return onTouchReceived(event);
     }
@@ -196,13 +329,26 @@ public class ColorPickerView extends FrameLayout {
       }
     }
 
-    Point snapPoint = getColorPoint(new Point((int) event.getX(), (int) event.getY()));
-    int pixelColor = getColorFromBitmap(snapPoint.x, snapPoint.y);
+    ColorPickerMetrics metrics = this.metrics;
+    long samplingStart = 0;
+    if (metrics != null) {
+      probes = 0;
+      samplingStart = System.nanoTime();
+    }
+
+    locate((int) event.getX(), (int) event.getY());
+
+    this.selectedPureColor = selection.pureColor;
+    this.selectedColor = selection.color;
+    updateSelectedPoint(selection.x, selection.y);
+    setCoordinate(selection.x, selection.y);
 
-    this.selectedPureColor = pixelColor;
-    this.selectedColor = pixelColor;
-    this.selectedPoint = getColorPoint(new Point(snapPoint.x, snapPoint.y));
-    setCoordinate(snapPoint.x, snapPoint.y);
+    if (metrics != null) {
+      long now = System.nanoTime();
+      metrics.onTouchSampled(now - samplingStart, probes);
+      // MotionEvent times are uptimeMillis, which shares CLOCK_MONOTONIC with System.nanoTime.
+      metrics.onEventToListener(now - event.getEventTime() * 1_000_000L);
+    }
 
     notifyColorChanged();
 
@@ -216,7 +362,7 @@ public class ColorPickerView extends FrameLayout {
   }
 
   public boolean isHuePalette() {
-    return palette.getDrawable() != null && palette.getDrawable() instanceof ColorHsvPalette;
+    return palette != null && palette.getDrawable() instanceof ColorHsvPalette;
   }
 
   private void notifyColorChanged() {
@@ -231,46 +377,40 @@ public class ColorPickerView extends FrameLayout {
    * @return selected color.
    */
   protected int getColorFromBitmap(float x, float y) {
-    Matrix invertMatrix = new Matrix();
-    palette.getImageMatrix().invert(invertMatrix);
-
-    float[] mappedPoints = new float[]{x, y};
-    invertMatrix.mapPoints(mappedPoints);
-
-    if (palette.getDrawable() != null
-            && palette.getDrawable() instanceof BitmapDrawable
-            && mappedPoints[0] >= 0
-            && mappedPoints[1] >= 0
-            && mappedPoints[0] < palette.getDrawable().getIntrinsicWidth()
-            && mappedPoints[1] < palette.getDrawable().getIntrinsicHeight()) {
-
-      invalidate();
-
-      if (palette.getDrawable() instanceof ColorHsvPalette) {
-        x = x - getWidth() * 0.5f;
-        y = y - getHeight() * 0.5f;
-        double r = Math.sqrt(x * x + y * y);
-        float radius = Math.min(getWidth(), getHeight()) * 0.5f;
-        float[] hsv = {0, 0, 1};
-        hsv[0] = (float) (Math.atan2(y, -x) / Math.PI * 180f) + 180;
-        hsv[1] = Math.max(0f, Math.min(1f, (float) (r / radius)));
-        return Color.HSVToColor(hsv);
-      } else {
-        Rect rect = palette.getDrawable().getBounds();
-        float scaleX = mappedPoints[0] / rect.width();
-        int x1 = (int) (scaleX * ((BitmapDrawable) palette.getDrawable()).getBitmap().getWidth());
-        float scaleY = mappedPoints[1] / rect.height();
-        int y1 = (int) (scaleY * ((BitmapDrawable) palette.getDrawable()).getBitmap().getHeight());
-        return ((BitmapDrawable) palette.getDrawable()).getBitmap().getPixel(x1, y1);
-      }
+    ensureChildren(false);
+    probes++;
+    boolean traced = ColorPickerTrace.begin(ColorPickerTrace.SECTION_SAMPLE);
+    try {
+      return geometry.colorAt(x, y);
+    } finally {
+      ColorPickerTrace.end(traced);
     }
-    return 0;
   }
 
   public void setColorListener(ColorListener colorListener) {
     this.colorListener = colorListener;
   }
 
+  /**
+   * attaches a {@link SlideBar}, whose base color then follows every color this view dispatches,
+   * whether or not a {@link ColorListener} is set.
+   *
+   * @param slideBar a slide bar, typically in a saturation or brightness mode.
+   */
+  @MainThread
+  public void attachSlideBar(@NonNull SlideBar slideBar) {
+    if (!slideBars.contains(slideBar)) {
+      slideBars.add(slideBar);
+      slideBar.setBaseColor(getColor());
+    }
+  }
+
+  /** detaches a {@link SlideBar} attached with {@link #attachSlideBar(SlideBar)}. */
+  @MainThread
+  public void detachSlideBar(@NonNull SlideBar slideBar) {
+    slideBars.remove(slideBar);
+  }
+
   /**
    * invokes {@link ColorListener} or {@link ColorEnvelopeListener} with a color value.
    *
@@ -278,12 +418,44 @@ public class ColorPickerView extends FrameLayout {
    * @param fromUser triggered by user or not.
    */
   public void fireColorListener(@ColorInt int color, final boolean fromUser) {
+    for (int i = 0; i < slideBars.size(); i++) {
+      slideBars.get(i).setBaseColor(color);
+    }
     if (this.colorListener != null) {
       this.selectedColor = color;
+      boolean traced = ColorPickerTrace.begin(ColorPickerTrace.SECTION_DISPATCH);
+      try {
+        dispatchColor(fromUser);
+      } finally {
+        ColorPickerTrace.end(traced);
+      }
+    }
+  }
+
+  private void dispatchColor(boolean fromUser) {
+    if (metrics != null) {
+      long start = System.nanoTime();
+      colorListener.onColorSelected(selectedColor, fromUser);
+      metrics.onListenerDispatched(System.nanoTime() - start);
+    } else {
       colorListener.onColorSelected(selectedColor, fromUser);
     }
   }
 
+  /**
+   * sets a {@link ColorPickerMetrics} receiving touch sampling and listener measurements.
+   *
+   * @param metrics {@link ColorPickerMetrics}, or null for measuring nothing.
+   */
+  public void setMetrics(@Nullable ColorPickerMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  @Nullable
+  public ColorPickerMetrics getMetrics() {
+    return metrics;
+  }
+
   /**
    * gets the selected color.
    *
@@ -329,7 +501,8 @@ public class ColorPickerView extends FrameLayout {
    * @return {@link ColorEnvelope}.
    */
   public ColorEnvelope getColorEnvelope() {
-    return new ColorEnvelope(getColor());
+    int kernelSize = geometry != null ? geometry.getAveragedKernelSize() : 1;
+    return new ColorEnvelope(getColor(), kernelSize);
   }
 
   /**
@@ -349,6 +522,7 @@ public class ColorPickerView extends FrameLayout {
    * @return selector.
    */
   public ImageView getSelector() {
+    ensureChildren(false);
     return this.selector;
   }
 
@@ -358,6 +532,7 @@ public class ColorPickerView extends FrameLayout {
    * @return a selected coordinate x.
    */
   public float getSelectorX() {
+    ensureChildren(false);
     return selector.getX() - (selector.getMeasuredWidth() * 0.5f);
   }
 
@@ -367,9 +542,19 @@ public class ColorPickerView extends FrameLayout {
    * @return a selected coordinate y.
    */
   public float getSelectorY() {
+    ensureChildren(false);
     return selector.getY() - (selector.getMeasuredHeight() * 0.5f);
   }
 
+  /** updates the selected point in place, so touches and animation frames allocate nothing. */
+  private void updateSelectedPoint(int x, int y) {
+    if (selectedPoint == null) {
+      selectedPoint = new Point(x, y);
+    } else {
+      selectedPoint.set(x, y);
+    }
+  }
+
   /**
    * gets a selector's selected coordinate.
    *
@@ -386,12 +571,12 @@ public class ColorPickerView extends FrameLayout {
    * @param y coordinate y of the selector.
    */
   public void setSelectorPoint(int x, int y) {
-    Point mappedPoint = getColorPoint(new Point(x, y));
-    int color = getColorFromBitmap(mappedPoint.x, mappedPoint.y);
-    selectedPureColor = color;
-    selectedColor = color;
-    selectedPoint = new Point(mappedPoint.x, mappedPoint.y);
-    setCoordinate(mappedPoint.x, mappedPoint.y);
+    cancelSelectionAnimation();
+    locate(x, y);
+    selectedPureColor = selection.pureColor;
+    selectedColor = selection.color;
+    updateSelectedPoint(selection.x, selection.y);
+    setCoordinate(selection.x, selection.y);
     fireColorListener(getColor(), false);
   }
 
@@ -402,9 +587,10 @@ public class ColorPickerView extends FrameLayout {
    * @param y coordinate y of the selector.
    */
   public void moveSelectorPoint(int x, int y, @ColorInt int color) {
+    cancelSelectionAnimation();
     selectedPureColor = color;
     selectedColor = color;
-    selectedPoint = new Point(x, y);
+    updateSelectedPoint(x, y);
     setCoordinate(x, y);
     fireColorListener(getColor(), false);
   }
@@ -416,24 +602,180 @@ public class ColorPickerView extends FrameLayout {
    * @param y coordinate y of the selector.
    */
   public void setCoordinate(int x, int y) {
+    ensureChildren(false);
     selector.setX(x - (selector.getMeasuredWidth() * 0.5f));
     selector.setY(y - (selector.getMeasuredHeight() * 0.5f));
+    scheduleOverlayRefresh();
+  }
+
+  /**
+   * sets a {@link FlagView} shown above the selector.
+   *
+   * @param flagView {@link FlagView}, or null for removing the current flag.
+   */
+  public void setFlagView(@Nullable FlagView flagView) {
+    if (this.flagView != null) {
+      this.flagView.removeOnLayoutChangeListener(overlayLaidOut);
+      removeView(this.flagView);
+    }
+    this.flagView = flagView;
+    if (flagView == null) {
+      return;
+    }
+    flagView.setFlipAble(flagFlipAble);
+    if (flagView.getFlagMode() == FlagMode.FADE) {
+      flagView.setAlpha(0f);
+    }
+    addView(
+        flagView,
+        new LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+    scheduleOverlayRefresh();
+  }
+
+  /**
+   * gets the {@link FlagView} shown above the selector.
+   *
+   * @return {@link FlagView}, or null.
+   */
+  @Nullable
+  public FlagView getFlagView() {
+    return flagView;
+  }
+
+  /**
+   * sets a {@link LoupeView} magnifying the palette around the selector. It is shown above the
+   * selector, or below it near the top edge, so use it instead of a flag or flip the flag.
+   *
+   * @param loupeView {@link LoupeView}, or null for removing the current loupe.
+   */
+  public void setLoupeView(@Nullable LoupeView loupeView) {
+    if (this.loupeView != null) {
+      this.loupeView.removeOnLayoutChangeListener(overlayLaidOut);
+      removeView(this.loupeView);
+    }
+    this.loupeView = loupeView;
+    if (loupeView == null) {
+      return;
+    }
+    loupeView.invalidateRegion();
+    addView(
+        loupeView,
+        new LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+    scheduleOverlayRefresh();
+  }
+
+  /**
+   * gets the {@link LoupeView} magnifying the palette around the selector.
+   *
+   * @return {@link LoupeView}, or null.
+   */
+  @Nullable
+  public LoupeView getLoupeView() {
+    return loupeView;
+  }
+
+  /**
+   * refreshes the flag and the loupe on the next animation frame, so they are moved and {@link
+   * FlagView#onRefresh} is invoked at most once per frame however many touch events arrive.
+   */
+  private void scheduleOverlayRefresh() {
+    if ((flagView != null || loupeView != null) && !overlayRefreshPending) {
+      overlayRefreshPending = true;
+      ViewCompat.postOnAnimation(this, overlayRefresh);
+    }
+  }
+
+  private void refreshOverlays() {
+    overlayRefreshPending = false;
+    if (selector == null) {
+      return;
+    }
+    if (flagView != null) {
+      refreshFlag();
+    }
+    if (loupeView != null) {
+      refreshLoupe();
+    }
+  }
+
+  /**
+   * moves the flag above the selector through translation only, flipping it below the selector when
+   * it would leave the top edge and clamping it inside the horizontal edges. A flag that has not
+   * been laid out yet is refreshed again after its layout, since its size is still unknown.
+   */
+  private void refreshFlag() {
+    if (awaitLayout(flagView)) {
+      flagView.onRefresh(getColorEnvelope());
+      return;
+    }
+    int flagWidth = flagView.getWidth();
+    int flagHeight = flagView.getHeight();
+    float x = selector.getX() + (selector.getWidth() - flagWidth) * 0.5f;
+    x = Math.max(0f, Math.min(x, getWidth() - flagWidth));
+    float y = selector.getY() - flagHeight;
+    if (y < 0 && flagView.isFlipAble()) {
+      y = selector.getY() + selector.getHeight();
+      flagView.setRotation(180f);
+    } else {
+      flagView.setRotation(0f);
+    }
+    flagView.setX(x);
+    flagView.setY(y);
+    flagView.onRefresh(getColorEnvelope());
+  }
+
+  /**
+   * checks whether an overlay is laid out, and schedules another refresh after its layout if not.
+   *
+   * @return true if the overlay has no size yet.
+   */
+  private boolean awaitLayout(View overlay) {
+    if (overlay.getWidth() != 0 || overlay.getHeight() != 0) {
+      return false;
+    }
+    overlay.removeOnLayoutChangeListener(overlayLaidOut);
+    overlay.addOnLayoutChangeListener(overlayLaidOut);
+    return true;
+  }
+
+  /**
+   * magnifies the palette at the selected point, copying it only when the point moved onto
+   * another palette pixel, and moves the loupe like the flag.
+   */
+  private void refreshLoupe() {
+    if (selectedPoint == null || geometry == null) {
+      return;
+    }
+    loupeView.refresh(geometry, selectedPoint.x, selectedPoint.y);
+    if (awaitLayout(loupeView)) {
+      return;
+    }
+    int loupeWidth = loupeView.getWidth();
+    int loupeHeight = loupeView.getHeight();
+    float x = selector.getX() + (selector.getWidth() - loupeWidth) * 0.5f;
+    x = Math.max(0f, Math.min(x, getWidth() - loupeWidth));
+    float y = selector.getY() - loupeHeight;
+    if (y < 0) {
+      y = selector.getY() + selector.getHeight();
+    }
+    loupeView.setX(x);
+    loupeView.setY(y);
   }
 
   /**
    * select a point by a specific color. this method will not work if the default palette drawable
-   * is not {@link ColorHsvPalette}.
+   * is not {@link ColorHsvPalette}. Before the first layout the color is kept and selected by it,
+   * instead of the center of the palette.
    *
    * @param color a starting color.
    */
   public void setInitialColor(@ColorInt final int color) {
-    post(() -> {
-      try {
-        selectByHsvColor(color);
-      } catch (IllegalAccessException e) {
-        e.printStackTrace();
-      }
-    });
+    if (selectionPending) {
+      initialColor = color;
+      initialColorPending = true;
+    } else if (isHuePalette()) {
+      selectHsvColor(color);
+    }
   }
 
   /**
@@ -454,28 +796,139 @@ public class ColorPickerView extends FrameLayout {
    * @param color color.
    */
   public void selectByHsvColor(@ColorInt int color) throws IllegalAccessException {
-    if (palette.getDrawable() instanceof ColorHsvPalette) {
-      float[] hsv = new float[3];
-      Color.colorToHSV(color, hsv);
-
-      float centerX = getWidth() * 0.5f;
-      float centerY = getHeight() * 0.5f;
-      float radius = hsv[1] * Math.min(centerX, centerY);
-      int pointX = (int) (radius * Math.cos(Math.toRadians(hsv[0])) + centerX);
-      int pointY = (int) (-radius * Math.sin(Math.toRadians(hsv[0])) + centerY);
-
-      Point mappedPoint = getColorPoint(new Point(pointX, pointY));
-      selectedPureColor = color;
-      selectedColor = color;
-      selectedPoint = new Point(mappedPoint.x, mappedPoint.y);
-
-      setCoordinate(mappedPoint.x, mappedPoint.y);
-      fireColorListener(getColor(), false);
+    if (isHuePalette()) {
+      selectHsvColor(color);
     } else {
       throw new IllegalAccessException("selectByHsvColor(@ColorInt int color) can be called only when the palette is an instance of ColorHsvPalette. Use setHsvPaletteDrawable();");
     }
   }
 
+  private void selectHsvColor(@ColorInt int color) {
+    cancelSelectionAnimation();
+    float[] hsv = new float[3];
+    ColorMath.colorToHsv(color, hsv);
+
+    long point = WheelGeometry.pointOf(hsv[0], hsv[1], getWidth(), getHeight());
+    locate(Points.x(point), Points.y(point));
+    selectedPureColor = color;
+    selectedColor = color;
+    updateSelectedPoint(selection.x, selection.y);
+
+    setCoordinate(selection.x, selection.y);
+    fireColorListener(getColor(), false);
+  }
+
+  /**
+   * animates the selector along the wheel to a specific color, interpolating its hue (the shorter
+   * way around), saturation, value and alpha. It jumps when the view is not laid out yet.
+   *
+   * <p>It will throw an exception if the palette drawable is not {@link ColorHsvPalette}.
+   *
+   * @param color color.
+   */
+  public void animateToColor(@ColorInt int color) throws IllegalAccessException {
+    if (selectionPending) {
+      setInitialColor(color);
+    } else if (!isHuePalette()) {
+      throw new IllegalAccessException(
+          "animateToColor(@ColorInt int color) can be called only when the palette is an instance"
+              + " of ColorHsvPalette. Use setHsvPaletteDrawable();");
+    } else if (selectedPoint == null) {
+      selectHsvColor(color);
+    } else {
+      selectionAnimator().animateToColor(selectedColor, color);
+    }
+  }
+
+  /**
+   * animates the selector to a point around the view center, interpolating its angle (the shorter
+   * way around) and radius, and samples the palette on every frame. It jumps when the view is not
+   * laid out yet.
+   *
+   * @param x coordinate x of the selector.
+   * @param y coordinate y of the selector.
+   */
+  public void animateToPoint(int x, int y) {
+    if (selectionPending || selectedPoint == null) {
+      setSelectorPoint(x, y);
+    } else {
+      selectionAnimator().animateToPoint(selectedPoint.x, selectedPoint.y, x, y);
+    }
+  }
+
+  /** stops a running {@link #animateToColor} or {@link #animateToPoint} where it is. */
+  public void cancelSelectionAnimation() {
+    if (selectionAnimator != null) {
+      selectionAnimator.cancel();
+    }
+  }
+
+  /**
+   * sets the duration of {@link #animateToColor} and {@link #animateToPoint}.
+   *
+   * @param duration milliseconds, 300 by default.
+   */
+  public void setSelectionAnimationDuration(long duration) {
+    this.selectionAnimationDuration = duration;
+    if (selectionAnimator != null) {
+      selectionAnimator.setDuration(duration);
+    }
+  }
+
+  /**
+   * sets the interpolator of {@link #animateToColor} and {@link #animateToPoint}.
+   *
+   * @param interpolator {@link TimeInterpolator}, or null for accelerating and decelerating.
+   */
+  public void setSelectionAnimationInterpolator(@Nullable TimeInterpolator interpolator) {
+    this.selectionAnimationInterpolator = interpolator;
+    if (selectionAnimator != null) {
+      selectionAnimator.setInterpolator(interpolator);
+    }
+  }
+
+  /**
+   * sets how often the {@link ColorListener} is invoked while the selector animates.
+   *
+   * @param animationDelivery {@link AnimationDelivery}, {@link AnimationDelivery#EVERY_FRAME} by
+   *     default.
+   */
+  public void setAnimationDelivery(@NonNull AnimationDelivery animationDelivery) {
+    this.animationDelivery = animationDelivery;
+  }
+
+  @NonNull
+  public AnimationDelivery getAnimationDelivery() {
+    return animationDelivery;
+  }
+
+  private SelectionAnimator selectionAnimator() {
+    if (selectionAnimator == null) {
+      selectionAnimator = new SelectionAnimator(this);
+      selectionAnimator.setDuration(selectionAnimationDuration);
+      selectionAnimator.setInterpolator(selectionAnimationInterpolator);
+    }
+    return selectionAnimator;
+  }
+
+  /** samples the palette at a point of a selector animation frame and applies it. */
+  void applyAnimatedPoint(int x, int y, boolean last) {
+    locate(x, y);
+    applyAnimatedSelection(selection.x, selection.y, selection.color, selection.pureColor, last);
+  }
+
+  /** applies a selector animation frame. */
+  void applyAnimatedSelection(
+      int x, int y, @ColorInt int color, @ColorInt int pureColor, boolean last) {
+    selectedPureColor = pureColor;
+    selectedColor = color;
+    updateSelectedPoint(x, y);
+    setCoordinate(x, y);
+    if (last || animationDelivery == AnimationDelivery.EVERY_FRAME) {
+      fireColorListener(color, false);
+    }
+  }
+
   /**
    * changes selector's selected point by a specific color resource.
    *
@@ -493,7 +946,10 @@ public class ColorPickerView extends FrameLayout {
    * @param drawable selector drawable.
    */
   public void setSelectorDrawable(Drawable drawable) {
-    selector.setImageDrawable(drawable);
+    this.selectorDrawable = drawable;
+    if (selector != null) {
+      selector.setImageDrawable(drawable);
+    }
   }
 
   /**
@@ -511,10 +967,20 @@ public class ColorPickerView extends FrameLayout {
   @Override
   public void setEnabled(boolean enabled) {
     super.setEnabled(enabled);
+    if (palette != null) {
+      applyEnabled(enabled);
+    }
+  }
 
+  private void applyEnabled(boolean enabled) {
     selector.setVisibility(enabled ? VISIBLE : INVISIBLE);
 
-    if (enabled) {
+    Drawable drawable = palette.getDrawable();
+    if (drawable instanceof ColorHsvPalette) {
+      // a view filter would replace the wheel's brightness filter instead of tinting it.
+      palette.clearColorFilter();
+      ((ColorHsvPalette) drawable).setDisabled(!enabled);
+    } else if (enabled) {
       palette.clearColorFilter();
     } else {
       int color = Color.argb(70, 255, 255, 255);
@@ -522,46 +988,242 @@ public class ColorPickerView extends FrameLayout {
     }
   }
 
-  protected Point getColorPoint(Point point) {
+  /**
+   * changes the palette drawable and selects the center of it.
+   *
+   * @param drawable palette drawable.
+   */
+  public void setPaletteDrawable(@NonNull Drawable drawable) {
+    this.paletteDrawable = drawable;
+    this.paletteResource = 0;
+    releaseWheel();
+    if (palette == null) {
+      // the palette view applies it once created.
+      return;
+    }
+    applyPalette(drawable);
+    if (!selectionPending) {
+      selectCenter();
+    }
+  }
+
+  /**
+   * changes the palette drawable to the default {@link ColorHsvPalette}.
+   */
+  public void setHsvPaletteDrawable() {
+    this.paletteDrawable = null;
+    this.paletteResource = 0;
+    if (getWidth() > 0 && getHeight() > 0) {
+      applyHsvPalette(getWidth(), getHeight());
+      if (!selectionPending) {
+        selectCenter();
+      }
+    } else if (palette != null) {
+      // onSizeChanged creates the palette once the size is known.
+      applyPalette(null);
+    }
+  }
+
+  /**
+   * applies a {@link ColorHsvPalette} drawing a wheel raster shared through {@link HsvWheelPool}.
+   * Until a new raster is ready, the palette draws the wheel with gradients.
+   */
+  private void applyHsvPalette(int width, int height) {
+    boolean traced = ColorPickerTrace.begin(ColorPickerTrace.SECTION_PREPARE_PALETTE);
+    try {
+      HsvWheelPool.Entry acquired = HsvWheelPool.acquire(width, height, 1f);
+      releaseWheel();
+      wheel = acquired;
+      if (!acquired.isReady()) {
+        applyPalette(new ColorHsvPalette(getResources()));
+      }
+      showWheel();
+    } finally {
+      ColorPickerTrace.end(traced);
+    }
+  }
+
+  /** draws the held wheel raster, right away when it is ready or else once it is. */
+  private void showWheel() {
+    HsvWheelPool.whenReady(wheel, wheelReady);
+  }
+
+  private void onWheelReady() {
+    if (wheel != null && wheel.isReady() && paletteDrawable == null) {
+      applyPalette(new ColorHsvPalette(getResources(), wheel));
+    }
+  }
+
+  private void releaseWheel() {
+    if (wheel != null) {
+      HsvWheelPool.removeCallback(wheel, wheelReady);
+      HsvWheelPool.release(wheel);
+      wheel = null;
+    }
+  }
+
+  /**
+   * sets the HSV value the default {@link ColorHsvPalette} is drawn and sampled with, e.g. from a
+   * brightness slider. The wheel is darkened with a color filter and the selected color is sampled
+   * again at the selector, without re-rasterizing the palette. Custom palettes are not affected.
+   *
+   * @param brightness HSV value, 1 by default; quantized to 1/255 like the filter.
+   */
+  public void setPaletteBrightness(@FloatRange(from = 0.0, to = 1.0) float brightness) {
+    brightness = ColorHsvPalette.quantizeBrightness(brightness);
+    if (paletteBrightness == brightness) {
+      return;
+    }
+    paletteBrightness = brightness;
     if (isHuePalette()) {
-      return getHuePoint(point);
+      ((ColorHsvPalette) palette.getDrawable()).setBrightness(brightness);
+      if (loupeView != null) {
+        loupeView.invalidateRegion();
+        scheduleOverlayRefresh();
+      }
+      if (selectedPoint != null) {
+        selectedColor = getColorFromBitmap(selectedPoint.x, selectedPoint.y);
+        fireColorListener(selectedColor, false);
+      }
     }
-    Point center = new Point(getMeasuredWidth() / 2, getMeasuredHeight() / 2);
-    return approximatedPoint(point, center);
   }
 
-  private Point approximatedPoint(Point start, Point end) {
-    if (getDistance(start, end) <= 3) {
-      return end;
+  /**
+   * gets the HSV value the default {@link ColorHsvPalette} is drawn and sampled with.
+   *
+   * @return HSV value.
+   */
+  public @FloatRange(from = 0.0, to = 1.0)
+  float getPaletteBrightness() {
+    return paletteBrightness;
+  }
+
+  /**
+   * sets the size of the square box of palette pixels around the selector whose average is the
+   * selected color, which steadies colors picked from photographs. Bitmap palettes average with
+   * a summed-area table built once in the background, in constant time whatever the size; other
+   * palettes keep sampling single pixels.
+   *
+   * @param kernelSize width and height of the box in palette pixels, 1 (single pixels) by default.
+   */
+  public void setSamplingKernelSize(
+      @IntRange(from = 1, to = SummedAreaTable.MAX_KERNEL_SIZE) int kernelSize) {
+    if (kernelSize < 1 || kernelSize > SummedAreaTable.MAX_KERNEL_SIZE) {
+      throw new IllegalArgumentException(
+          "kernelSize must be in [1, " + SummedAreaTable.MAX_KERNEL_SIZE + "], was " + kernelSize);
     }
-    Point center = getCenterPoint(start, end);
-    int color = getColorFromBitmap(center.x, center.y);
-    if (color == Color.TRANSPARENT) {
-      return approximatedPoint(center, end);
-    } else {
-      return approximatedPoint(start, center);
+    this.samplingKernelSize = kernelSize;
+    if (geometry != null) {
+      geometry.setKernelSize(kernelSize);
     }
   }
 
-  private Point getHuePoint(Point point) {
-    float centerX = getWidth() * 0.5f;
-    float centerY = getHeight() * 0.5f;
-    float x = point.x - centerX;
-    float y = point.y - centerY;
-    float radius = Math.min(centerX, centerY);
-    double r = Math.sqrt(x * x + y * y);
-    if (r > radius) {
-      x *= radius / r;
-      y *= radius / r;
+  /**
+   * gets the size of the box of palette pixels averaged into the selected color.
+   *
+   * @return kernel size, 1 for single pixels.
+   */
+  public int getSamplingKernelSize() {
+    return samplingKernelSize;
+  }
+
+  /**
+   * extracts the dominant colors of the palette off the main thread, e.g. right after setting a
+   * gallery photo as the palette. The palette is quantized with median cut on a downsampled copy,
+   * or on a small wheel rasterized for the default {@link ColorHsvPalette}.
+   *
+   * @param maxColors maximum number of swatches.
+   * @param listener {@link DominantColorsListener} invoked on the main thread.
+   */
+  @MainThread
+  public void extractDominantColors(int maxColors, @NonNull DominantColorsListener listener) {
+    ensureChildren(false);
+    DominantColors.extract(palette.getDrawable(), maxColors, listener);
+  }
+
+  /** checks whether the palette of the attributes is still to be loaded on the first measure. */
+  @VisibleForTesting
+  boolean isPaletteResourcePending() {
+    return paletteResource != 0;
+  }
+
+  /** sets the palette drawable and resolves its {@link PaletteGeometry}. */
+  private void applyPalette(@Nullable Drawable drawable) {
+    ensureChildren(false);
+    if (drawable instanceof ColorHsvPalette) {
+      ((ColorHsvPalette) drawable).setBrightness(paletteBrightness);
+    }
+    if (palette.getDrawable() instanceof TiledImagePalette) {
+      ((TiledImagePalette) palette.getDrawable()).setOnTileDecodedListener(null);
+    }
+    if (drawable instanceof TiledImagePalette) {
+      ((TiledImagePalette) drawable).setOnTileDecodedListener(tileDecoded);
+    }
+    palette.setImageDrawable(drawable);
+    if (selector != null && !isEnabled()) {
+      applyEnabled(false);
+    }
+    geometry = PaletteGeometry.of(this, palette, drawable);
+    geometry.setKernelSize(samplingKernelSize);
+    if (loupeView != null) {
+      loupeView.invalidateRegion();
+      scheduleOverlayRefresh();
     }
-    return new Point((int) (x + centerX), (int) (y + centerY));
   }
 
-  private static Point getCenterPoint(Point start, Point end) {
-    return new Point((end.x + start.x) / 2, (end.y + start.y) / 2);
+  /**
+   * samples the selected point again once the tile under it arrives, since its color was read
+   * from the overview meanwhile, and refreshes the loupe, which may show overview pixels.
+   */
+  private void onTileDecoded(
+      TiledImagePalette tiled, int left, int top, int right, int bottom) {
+    if (palette == null || palette.getDrawable() != tiled || geometry == null) {
+      return;
+    }
+    if (loupeView != null) {
+      loupeView.invalidateRegion();
+      scheduleOverlayRefresh();
+    }
+    if (selectedPoint == null || (selectionAnimator != null && selectionAnimator.isRunning())) {
+      return;
+    }
+    long pixel = geometry.pixelAt(selectedPoint.x, selectedPoint.y);
+    if (pixel == PaletteGeometry.NO_PIXEL) {
+      return;
+    }
+    int x = Points.x(pixel);
+    int y = Points.y(pixel);
+    if (x < left || y < top || x >= right || y >= bottom) {
+      return;
+    }
+    locate(selectedPoint.x, selectedPoint.y);
+    if (selection.color != selectedColor) {
+      selectedPureColor = selection.pureColor;
+      selectedColor = selection.color;
+      fireColorListener(selectedColor, false);
+      scheduleOverlayRefresh();
+    }
   }
 
-  private static int getDistance(Point start, Point end) {
-    return (int) Math.sqrt(Math.abs(end.x - start.x) * Math.abs(end.x - start.x) + Math.abs(end.y - start.y) * Math.abs(end.y - start.y));
+  /** snaps a point onto the palette and samples its color into {@link #selection}. */
+  private void locate(int x, int y) {
+    ensureChildren(false);
+    boolean traced = ColorPickerTrace.begin(ColorPickerTrace.SECTION_SNAP);
+    try {
+      geometry.locate(x, y, selection);
+    } finally {
+      ColorPickerTrace.end(traced);
+    }
+  }
+
+  /**
+   * gets the point on the palette closest to a point.
+   *
+   * @param point coordinate on this view.
+   * @return the snapped point.
+   */
+  protected Point getColorPoint(Point point) {
+    locate(point.x, point.y);
+    return new Point(selection.x, selection.y);
   }
 }
@@ -16,37 +16,116 @@
 
 package com.skydoves.colorpickerview;
 
-import android.graphics.Color;
-
 import androidx.annotation.ColorInt;
+import androidx.annotation.FloatRange;
+import androidx.annotation.NonNull;
+import com.skydoves.colorpickerview.core.ColorMath;
+import com.skydoves.colorpickerview.core.Contrast;
+import com.skydoves.colorpickerview.core.HexCodec;
 
-import java.util.Locale;
-
-/** ColorUtils a util class for changing the form of colors. */
+/**
+ * ColorUtils a util class for changing the form of colors.
+ *
+ * <p>The color math is implemented by the Android-free {@code colorpickerview-core} module.
+ */
 public class ColorUtils {
   /** changes color to string hex code. */
   public static String getHexCode(@ColorInt int color) {
-    int a = Color.alpha(color);
-    int r = Color.red(color);
-    int g = Color.green(color);
-    int b = Color.blue(color);
-    return String.format(Locale.getDefault(), "%02X%02X%02X%02X", a, r, g, b);
+    return HexCodec.toHex(color);
   }
 
   /** changes color to argb integer array. */
   public static int[] getColorARGB(@ColorInt int color) {
     int[] argb = new int[4];
-    argb[0] = Color.alpha(color);
-    argb[1] = Color.red(color);
-    argb[2] = Color.green(color);
-    argb[3] = Color.blue(color);
+    ColorMath.argbOf(color, argb);
     return argb;
   }
 
   public static int getPureColor(@ColorInt int color) {
-    int r = Color.red(color);
-    int g = Color.green(color);
-    int b = Color.blue(color);
-    return (r << 16) | (g << 8) | b;
+    return ColorMath.pureColor(color);
+  }
+
+  /**
+   * converts a color to HSV components without going through {@code Color#colorToHSV}.
+   *
+   * @param color color.
+   * @param hsv array of 3 receiving hue [0, 360), saturation [0, 1] and value [0, 1].
+   */
+  public static void colorToHsv(@ColorInt int color, float[] hsv) {
+    ColorMath.colorToHsv(color, hsv);
+  }
+
+  /**
+   * converts HSV components to an opaque color without going through {@code Color#HSVToColor}.
+   *
+   * @param hue hue in degrees, wrapped into [0, 360).
+   * @param saturation saturation [0, 1].
+   * @param value value [0, 1].
+   * @return color.
+   */
+  @ColorInt
+  public static int hsvToColor(float hue, float saturation, float value) {
+    return ColorMath.hsvToColor(0xFF, hue, saturation, value);
+  }
+
+  /**
+   * converts HSV components to a color without going through {@code Color#HSVToColor}.
+   *
+   * @param alpha alpha [0, 255].
+   * @param hue hue in degrees, wrapped into [0, 360).
+   * @param saturation saturation [0, 1].
+   * @param value value [0, 1].
+   * @return color.
+   */
+  @ColorInt
+  public static int hsvToColor(int alpha, float hue, float saturation, float value) {
+    return ColorMath.hsvToColor(alpha, hue, saturation, value);
+  }
+
+  /**
+   * parses an RRGGBB or AARRGGBB hex code with an optional leading '#'.
+   *
+   * @param hexCode hex code.
+   * @return color.
+   * @throws IllegalArgumentException if the code is not a valid hex color.
+   */
+  @ColorInt
+  public static int parseHexCode(String hexCode) {
+    return HexCodec.parseHex(hexCode);
+  }
+
+  /**
+   * calculates the WCAG relative luminance of a color through an sRGB lookup table, ignoring its
+   * alpha.
+   *
+   * @return luminance [0, 1].
+   */
+  @FloatRange(from = 0.0, to = 1.0)
+  public static float calculateLuminance(@ColorInt int color) {
+    return Contrast.luminance(color);
+  }
+
+  /**
+   * calculates the WCAG contrast ratio of a color on a background. A translucent foreground is
+   * composited over the background, which is treated as opaque.
+   *
+   * @return ratio [1, 21]; 4.5 passes AA and 7 passes AAA for normal text.
+   */
+  @FloatRange(from = 1.0, to = 21.0)
+  public static float calculateContrast(@ColorInt int foreground, @ColorInt int background) {
+    return Contrast.ratio(foreground, background);
+  }
+
+  /**
+   * calculates the WCAG contrast ratios of a color on many backgrounds in one pass, e.g. the
+   * theme backgrounds checked on every {@link com.skydoves.colorpickerview.listeners.ColorListener}
+   * call. Nothing is allocated.
+   *
+   * @param ratios receives the ratio of every background, at least as long as backgrounds.
+   * @return the lowest ratio.
+   */
+  public static float calculateContrasts(
+      @ColorInt int foreground, @NonNull @ColorInt int[] backgrounds, @NonNull float[] ratios) {
+    return Contrast.ratios(foreground, backgrounds, ratios);
   }
 }
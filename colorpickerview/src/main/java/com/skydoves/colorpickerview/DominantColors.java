@@ -0,0 +1,148 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import android.graphics.Bitmap;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import androidx.annotation.MainThread;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+import com.skydoves.colorpickerview.core.ColorQuantizer;
+import com.skydoves.colorpickerview.core.MappedPaletteRaster;
+import com.skydoves.colorpickerview.core.PaletteRaster;
+import com.skydoves.colorpickerview.core.Swatches;
+import com.skydoves.colorpickerview.listeners.DominantColorsListener;
+
+/**
+ * DominantColors extracts the dominant colors of a palette drawable on the background thread of
+ * {@link ColorPickerExecutors}.
+ */
+class DominantColors {
+
+  /** palettes are quantized on a grid of at most this many pixels. */
+  static final int MAX_PIXELS = 256 * 256;
+
+  private DominantColors() {}
+
+  @MainThread
+  static void extract(
+      @Nullable Drawable drawable, int maxColors, DominantColorsListener listener) {
+    if (maxColors < 1) {
+      throw new IllegalArgumentException("maxColors must be at least 1, was " + maxColors);
+    }
+    PaletteRaster raster = rasterOf(drawable);
+    float wheelValue =
+        drawable instanceof ColorHsvPalette ? ((ColorHsvPalette) drawable).getBrightness() : -1f;
+    Bitmap bitmap =
+        raster == null && wheelValue < 0 && drawable instanceof BitmapDrawable
+            ? ((BitmapDrawable) drawable).getBitmap()
+            : null;
+    MappedPaletteRaster mapped =
+        drawable instanceof MappedImagePalette ? ((MappedImagePalette) drawable).getRaster() : null;
+    ColorPickerExecutors.background()
+        .execute(
+            () -> {
+              Swatches swatches;
+              try {
+                swatches = quantize(sourceOf(raster, mapped, wheelValue, bitmap), maxColors);
+              } catch (RuntimeException | OutOfMemoryError e) {
+                // an unreadable palette must not take down the background thread.
+                swatches = quantize(new PaletteRaster(new int[0], 0, 0), maxColors);
+              }
+              Swatches result = swatches;
+              ColorPickerExecutors.postToMain(() -> listener.onDominantColorsExtracted(result));
+            });
+  }
+
+  @WorkerThread
+  private static PaletteRaster sourceOf(
+      @Nullable PaletteRaster raster,
+      @Nullable MappedPaletteRaster mapped,
+      float wheelValue,
+      @Nullable Bitmap bitmap) {
+    if (raster != null) {
+      return raster;
+    } else if (mapped != null) {
+      return PaletteRaster.downsample(mapped, mapped.getWidth(), mapped.getHeight(), MAX_PIXELS);
+    } else if (wheelValue >= 0) {
+      return wheel(wheelValue);
+    }
+    return downsample(bitmap);
+  }
+
+  @WorkerThread
+  private static Swatches quantize(PaletteRaster source, int maxColors) {
+    return ColorQuantizer.quantize(
+        source, maxColors, MAX_PIXELS, ColorPickerExecutors.forkJoinPool());
+  }
+
+  /** gets the immutable raster of a palette that is quantized in place, if it has one. */
+  @Nullable
+  private static PaletteRaster rasterOf(@Nullable Drawable drawable) {
+    if (drawable instanceof HardwareBitmapPalette) {
+      // hardware bitmaps can not be read; their CPU copy is quantized instead.
+      return ((HardwareBitmapPalette) drawable).getRaster();
+    }
+    return null;
+  }
+
+  /** rasterizes a wheel of {@link #MAX_PIXELS} pixels, whatever the size of the palette. */
+  @WorkerThread
+  private static PaletteRaster wheel(float value) {
+    int size = (int) Math.sqrt(MAX_PIXELS);
+    int[] pixels = new int[size * size];
+    HsvPaletteRasterizer.rasterize(pixels, size, size, value);
+    return new PaletteRaster(pixels, size, size);
+  }
+
+  /** copies a bitmap into a raster of at most about {@link #MAX_PIXELS} pixels. */
+  @WorkerThread
+  private static PaletteRaster downsample(@Nullable Bitmap bitmap) {
+    if (bitmap == null || bitmap.isRecycled()) {
+      return new PaletteRaster(new int[0], 0, 0);
+    }
+    if (PaletteGeometry.Image.isHardware(bitmap)) {
+      // hardware bitmaps can not be read, and scaled copies keep their config.
+      Bitmap copy = bitmap.copy(Bitmap.Config.ARGB_8888, false);
+      if (copy == null) {
+        return new PaletteRaster(new int[0], 0, 0);
+      }
+      try {
+        return downsample(copy);
+      } finally {
+        copy.recycle();
+      }
+    }
+    int width = bitmap.getWidth();
+    int height = bitmap.getHeight();
+    Bitmap source = bitmap;
+    long area = (long) width * height;
+    if (area > MAX_PIXELS) {
+      float scale = (float) Math.sqrt((double) MAX_PIXELS / area);
+      width = Math.max(1, Math.round(width * scale));
+      height = Math.max(1, Math.round(height * scale));
+      source = Bitmap.createScaledBitmap(bitmap, width, height, false);
+    }
+    int[] pixels = new int[width * height];
+    source.getPixels(pixels, 0, width, 0, 0, width, height);
+    if (source != bitmap) {
+      source.recycle();
+    }
+    return new PaletteRaster(pixels, width, height);
+  }
+}
@@ -18,25 +18,30 @@ package com.skydoves.colorpickerview;
 
 import static androidx.annotation.RestrictTo.Scope.LIBRARY_GROUP;
 
+import android.animation.TimeInterpolator;
 import android.view.View;
-import android.view.animation.Animation;
-import android.view.animation.AnimationUtils;
+import android.view.animation.LinearInterpolator;
 import androidx.annotation.RestrictTo;
 
+/**
+ * FadeUtils fades views through their {@link View#animate()} animator, which every view reuses, so
+ * fading on each touch does not parse animation resources.
+ */
 @RestrictTo(LIBRARY_GROUP)
 public class FadeUtils {
 
+  private static final long DURATION = 500L;
+  private static final TimeInterpolator INTERPOLATOR = new LinearInterpolator();
+
   public static void fadeIn(View view) {
-    Animation fadeIn =
-        AnimationUtils.loadAnimation(view.getContext(), R.anim.fade_in_colorpickerview_skydoves);
-    fadeIn.setFillAfter(true);
-    view.startAnimation(fadeIn);
+    fadeTo(view, 1f);
   }
 
   public static void fadeOut(View view) {
-    Animation fadeOut =
-        AnimationUtils.loadAnimation(view.getContext(), R.anim.fade_out_colorpickerview_skydoves);
-    fadeOut.setFillAfter(true);
-    view.startAnimation(fadeOut);
+    fadeTo(view, 0f);
+  }
+
+  private static void fadeTo(View view, float alpha) {
+    view.animate().alpha(alpha).setDuration(DURATION).setInterpolator(INTERPOLATOR);
   }
 }
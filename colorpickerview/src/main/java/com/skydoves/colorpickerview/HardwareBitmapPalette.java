@@ -0,0 +1,166 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.drawable.BitmapDrawable;
+import android.os.Build;
+import androidx.annotation.DrawableRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+import com.skydoves.colorpickerview.core.PaletteRaster;
+import java.io.IOException;
+
+/**
+ * HardwareBitmapPalette is an image palette displayed from a {@link Bitmap.Config#HARDWARE}
+ * bitmap on API 26+, for {@link
+ * ColorPickerView#setPaletteDrawable(android.graphics.drawable.Drawable)}.
+ *
+ * <p>Hardware bitmaps live in graphics memory only and can not be read, so colors are sampled from
+ * a separate CPU copy whose resolution is chosen by a {@link SamplingAccuracy}. At {@link
+ * SamplingAccuracy#HALF} the copy takes a quarter of the memory of the displayed image. Below API
+ * 26 the image is displayed from an ordinary bitmap and sampled from it directly.
+ */
+public class HardwareBitmapPalette extends BitmapDrawable {
+
+  /** SamplingAccuracy trades the accuracy of sampled colors for the memory of the CPU copy. */
+  public enum SamplingAccuracy {
+    /** every pixel of the image, 4 bytes per pixel. */
+    FULL(1),
+    /** every second pixel in both directions, 1 byte per pixel of the image. */
+    HALF(2),
+    /** every fourth pixel in both directions, a quarter byte per pixel of the image. */
+    QUARTER(4);
+
+    private final int step;
+
+    SamplingAccuracy(int step) {
+      this.step = step;
+    }
+  }
+
+  @Nullable private final PaletteRaster raster;
+
+  private HardwareBitmapPalette(
+      Resources resources, Bitmap display, @Nullable PaletteRaster raster) {
+    super(resources, display);
+    this.raster = raster;
+  }
+
+  /**
+   * creates a palette from a bitmap, copying it into a hardware bitmap and a CPU copy on API 26+.
+   * The source bitmap is not kept on API 26+ and may be recycled afterwards.
+   */
+  @WorkerThread
+  @NonNull
+  public static HardwareBitmapPalette create(
+      @NonNull Resources resources, @NonNull Bitmap source, @NonNull SamplingAccuracy accuracy) {
+    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
+      return new HardwareBitmapPalette(resources, source, null);
+    }
+    Bitmap display = source.copy(Bitmap.Config.HARDWARE, false);
+    if (display == null) {
+      // the image can not be uploaded, e.g. it exceeds the maximum texture size.
+      return new HardwareBitmapPalette(resources, source, null);
+    }
+    int width = Math.max(1, source.getWidth() / accuracy.step);
+    int height = Math.max(1, source.getHeight() / accuracy.step);
+    Bitmap sampled =
+        accuracy.step == 1 ? source : Bitmap.createScaledBitmap(source, width, height, true);
+    PaletteRaster raster = toRaster(sampled);
+    if (sampled != source) {
+      sampled.recycle();
+    }
+    return new HardwareBitmapPalette(resources, display, raster);
+  }
+
+  /**
+   * decodes an image resource into a palette. On API 26+ the image is decoded straight into a
+   * hardware bitmap, and decoded again downsampled for the CPU copy, so no full-size CPU bitmap
+   * is ever allocated.
+   *
+   * @throws IOException when the resource can not be decoded.
+   */
+  @WorkerThread
+  @NonNull
+  public static HardwareBitmapPalette decodeResource(
+      @NonNull Resources resources,
+      @DrawableRes int resource,
+      @NonNull SamplingAccuracy accuracy)
+      throws IOException {
+    BitmapFactory.Options options = new BitmapFactory.Options();
+    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
+      return new HardwareBitmapPalette(resources, decode(resources, resource, options), null);
+    }
+    options.inPreferredConfig = Bitmap.Config.HARDWARE;
+    Bitmap display = decode(resources, resource, options);
+
+    BitmapFactory.Options samplingOptions = new BitmapFactory.Options();
+    samplingOptions.inPreferredConfig = Bitmap.Config.ARGB_8888;
+    samplingOptions.inSampleSize = accuracy.step;
+    Bitmap sampled = decode(resources, resource, samplingOptions);
+    PaletteRaster raster = toRaster(sampled);
+    sampled.recycle();
+    return new HardwareBitmapPalette(resources, display, raster);
+  }
+
+  private static Bitmap decode(
+      Resources resources, @DrawableRes int resource, BitmapFactory.Options options)
+      throws IOException {
+    Bitmap bitmap = BitmapFactory.decodeResource(resources, resource, options);
+    if (bitmap == null) {
+      throw new IOException("the resource " + resource + " can not be decoded.");
+    }
+    return bitmap;
+  }
+
+  private static PaletteRaster toRaster(Bitmap bitmap) {
+    int width = bitmap.getWidth();
+    int height = bitmap.getHeight();
+    int[] pixels = new int[width * height];
+    bitmap.getPixels(pixels, 0, width, 0, 0, width, height);
+    return new PaletteRaster(pixels, width, height);
+  }
+
+  /** gets the CPU copy colors are sampled from, or null when they are read from the bitmap. */
+  @Nullable
+  PaletteRaster getRaster() {
+    return raster;
+  }
+
+  /**
+   * samples the CPU copy, or the bitmap below API 26, at a position relative to its size.
+   *
+   * @return color, or 0 (transparent) outside of the image.
+   */
+  int sampleRelative(float u, float v) {
+    if (raster != null) {
+      return raster.sampleRelative(u, v);
+    }
+    Bitmap bitmap = getBitmap();
+    int x = (int) (u * bitmap.getWidth());
+    int y = (int) (v * bitmap.getHeight());
+    if (x < 0 || y < 0 || x >= bitmap.getWidth() || y >= bitmap.getHeight()) {
+      return 0;
+    }
+    return bitmap.getPixel(x, y);
+  }
+}
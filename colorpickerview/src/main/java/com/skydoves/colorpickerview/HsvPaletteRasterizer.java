@@ -0,0 +1,84 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import android.graphics.Bitmap;
+import androidx.annotation.AnyThread;
+import androidx.annotation.FloatRange;
+import androidx.annotation.NonNull;
+import com.skydoves.colorpickerview.core.WheelRasterizer;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * HsvPaletteRasterizer generates the pixels of the {@link ColorHsvPalette} wheel directly, for
+ * exporting, caching or sampling it. The pixels match the colors sampled by touches on a {@link
+ * ColorPickerView} of the same size.
+ *
+ * <p>The wheel is computed in row stripes on a {@link ForkJoinPool} from API 21, and on the
+ * calling thread below it, then written to the bitmap with a single {@link Bitmap#setPixels} call.
+ */
+public final class HsvPaletteRasterizer {
+
+  private HsvPaletteRasterizer() {}
+
+  /**
+   * rasterizes a wheel into a new bitmap.
+   *
+   * @param value the HSV value (brightness) of the wheel.
+   * @return an ARGB_8888 bitmap, transparent outside of the wheel.
+   */
+  @AnyThread
+  @NonNull
+  public static Bitmap rasterize(
+      int width, int height, @FloatRange(from = 0.0, to = 1.0) float value) {
+    Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+    rasterize(bitmap, value);
+    return bitmap;
+  }
+
+  /**
+   * rasterizes a wheel of the bitmap's size into a mutable bitmap.
+   *
+   * @param value the HSV value (brightness) of the wheel.
+   */
+  @AnyThread
+  public static void rasterize(
+      @NonNull Bitmap bitmap, @FloatRange(from = 0.0, to = 1.0) float value) {
+    int width = bitmap.getWidth();
+    int height = bitmap.getHeight();
+    int[] pixels = new int[width * height];
+    rasterize(pixels, width, height, value);
+    bitmap.setPixels(pixels, 0, width, 0, 0, width, height);
+  }
+
+  /**
+   * rasterizes a wheel into packed ARGB pixels in row-major order.
+   *
+   * @param pixels destination, at least width * height long.
+   * @param value the HSV value (brightness) of the wheel.
+   */
+  @AnyThread
+  public static void rasterize(
+      @NonNull int[] pixels, int width, int height, @FloatRange(from = 0.0, to = 1.0) float value) {
+    ForkJoinPool pool = ColorPickerExecutors.forkJoinPool();
+    if (pool != null) {
+      WheelRasterizer.rasterize(pixels, width, height, value, pool);
+    } else {
+      WheelRasterizer.rasterize(pixels, width, height, value);
+    }
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import static androidx.annotation.RestrictTo.Scope.LIBRARY_GROUP;
+
+import android.graphics.Bitmap;
+import androidx.annotation.FloatRange;
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.Px;
+import androidx.annotation.RestrictTo;
+import com.skydoves.colorpickerview.core.ColorMath;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HsvWheelPool shares rasterized HSV wheels process-wide, keyed by pixel size and brightness.
+ *
+ * <p>Pickers and {@link ColorPickerThumbnail}s of the same size acquire the same immutable wheel
+ * bitmap. A new wheel is rasterized on the background thread of {@link ColorPickerExecutors} and
+ * published on the main thread, so acquiring never blocks; holders draw something cheaper until
+ * {@link #whenReady} runs. Only the bitmap is kept, since the wheel is sampled analytically with
+ * the same math. Entries are reference-counted and dropped from the pool when the last holder
+ * releases them; drawables still holding the bitmap keep drawing with it.
+ */
+@RestrictTo(LIBRARY_GROUP)
+public final class HsvWheelPool {
+
+  private static final Map<Key, Entry> entries = new HashMap<>();
+
+  private HsvWheelPool() {}
+
+  /** Entry is a shared wheel raster. */
+  public static final class Entry {
+    private final Key key;
+    @Nullable private Bitmap bitmap;
+    private int references;
+    private final List<Runnable> callbacks = new ArrayList<>(1);
+
+    private Entry(Key key) {
+      this.key = key;
+    }
+
+    /** checks whether the wheel is rasterized. */
+    @MainThread
+    public boolean isReady() {
+      return bitmap != null;
+    }
+
+    /** gets the immutable wheel bitmap, or null while it is rasterized. */
+    @MainThread
+    @Nullable
+    public Bitmap getBitmap() {
+      return bitmap;
+    }
+  }
+
+  /**
+   * acquires a wheel raster, rasterizing it in the background when no holder has one of the same
+   * key.
+   *
+   * @param value the HSV value (brightness) of the wheel, quantized to 1/255.
+   * @return a shared {@link Entry}, possibly not {@link Entry#isReady() ready} yet; pass it to
+   *     {@link #release(Entry)} when done.
+   */
+  @MainThread
+  @NonNull
+  public static synchronized Entry acquire(
+      @Px int width, @Px int height, @FloatRange(from = 0.0, to = 1.0) float value) {
+    Key key = new Key(width, height, Math.round(ColorMath.clamp01(value) * 255));
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      entry = new Entry(key);
+      entries.put(key, entry);
+      rasterize(entry);
+    }
+    entry.references++;
+    return entry;
+  }
+
+  private static void rasterize(Entry entry) {
+    Key key = entry.key;
+    ColorPickerExecutors.background()
+        .execute(
+            () -> {
+              int[] pixels = new int[key.width * key.height];
+              HsvPaletteRasterizer.rasterize(pixels, key.width, key.height, key.value / 255f);
+              Bitmap bitmap =
+                  Bitmap.createBitmap(pixels, key.width, key.height, Bitmap.Config.ARGB_8888);
+              ColorPickerExecutors.postToMain(() -> publish(entry, bitmap));
+            });
+  }
+
+  @MainThread
+  private static void publish(Entry entry, Bitmap bitmap) {
+    entry.bitmap = bitmap;
+    // callbacks may release or re-register, so run a snapshot.
+    Runnable[] callbacks = entry.callbacks.toArray(new Runnable[0]);
+    entry.callbacks.clear();
+    for (Runnable callback : callbacks) {
+      callback.run();
+    }
+  }
+
+  /**
+   * runs a callback once an entry is rasterized, right away when it already is.
+   *
+   * @param callback invoked on the main thread; remove it with {@link #removeCallback} when the
+   *     entry is released before.
+   */
+  @MainThread
+  public static void whenReady(@NonNull Entry entry, @NonNull Runnable callback) {
+    if (entry.bitmap != null) {
+      callback.run();
+    } else if (!entry.callbacks.contains(callback)) {
+      entry.callbacks.add(callback);
+    }
+  }
+
+  /** removes a callback registered with {@link #whenReady}. */
+  @MainThread
+  public static void removeCallback(@NonNull Entry entry, @NonNull Runnable callback) {
+    entry.callbacks.remove(callback);
+  }
+
+  /**
+   * acquires an {@link Entry} again after releasing it, putting it back into the pool when no
+   * other holder has a raster of the same key.
+   *
+   * @return the pooled {@link Entry} of the same key, which may differ from the given one and may
+   *     not be ready yet.
+   */
+  @MainThread
+  @NonNull
+  public static synchronized Entry retain(@NonNull Entry entry) {
+    Entry pooled = entries.get(entry.key);
+    if (pooled == null) {
+      pooled = entry;
+      entries.put(entry.key, entry);
+    }
+    pooled.references++;
+    return pooled;
+  }
+
+  /** releases an {@link Entry}, dropping it from the pool with its last reference. */
+  @MainThread
+  public static synchronized void release(@NonNull Entry entry) {
+    if (entry.references == 0) {
+      return;
+    }
+    entry.references--;
+    if (entry.references == 0 && entries.get(entry.key) == entry) {
+      entries.remove(entry.key);
+    }
+  }
+
+  /** gets the number of pooled rasters. */
+  public static synchronized int size() {
+    return entries.size();
+  }
+
+  private static final class Key {
+    private final int width;
+    private final int height;
+    private final int value;
+
+    private Key(int width, int height, int value) {
+      this.width = width;
+      this.height = height;
+      this.value = value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return width == other.width && height == other.height && value == other.value;
+    }
+
+    @Override
+    public int hashCode() {
+      return (width * 31 + height) * 31 + value;
+    }
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.RectF;
+import android.graphics.Shader;
+import android.view.View;
+import androidx.annotation.ColorInt;
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+import com.skydoves.colorpickerview.core.Points;
+
+/**
+ * LoupeView magnifies the palette pixels around the selector of a {@link ColorPickerView}, with a
+ * crosshair on the selected pixel. Set it by {@link ColorPickerView#setLoupeView(LoupeView)}.
+ *
+ * <p>The region is copied into one reused {@code int[]} and bitmap, and drawn scaled up with
+ * nearest-neighbour filtering, so every palette pixel stays a sharp square. The bitmap is drawn
+ * through a shader into an oval rather than clipped, since hardware-accelerated canvases can not
+ * clip to paths below API 18. The region is copied
+ * again only when the selector moves onto another palette pixel, so dragging allocates nothing.
+ */
+@SuppressWarnings("unused")
+public class LoupeView extends View {
+
+  public static final int DEFAULT_REGION_SIZE = 15;
+  private static final int DEFAULT_SIZE_DP = 96;
+
+  private final Paint pixelPaint = new Paint();
+  private final Paint tilePaint = new Paint();
+  private final Paint crosshairPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+  private final Paint borderPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+  private final RectF target = new RectF();
+  private final RectF cell = new RectF();
+  private final Matrix bufferMatrix = new Matrix();
+
+  private int regionSize = DEFAULT_REGION_SIZE;
+  private int[] pixels;
+  private Bitmap buffer;
+  private long centerPixel = PaletteGeometry.NO_PIXEL;
+  private boolean stale = true;
+
+  public LoupeView(Context context) {
+    super(context);
+    crosshairPaint.setStyle(Paint.Style.STROKE);
+    crosshairPaint.setStrokeWidth(SizeUtils.dp2Px(context, 1));
+    crosshairPaint.setColor(Color.WHITE);
+    borderPaint.setStyle(Paint.Style.STROKE);
+    borderPaint.setStrokeWidth(SizeUtils.dp2Px(context, 2));
+    borderPaint.setColor(Color.WHITE);
+    tilePaint.setShader(
+        CheckerboardShaderCache.obtain(
+            context,
+            SizeUtils.dp2Px(context, 4),
+            CheckerboardShaderCache.DEFAULT_ODD_COLOR,
+            CheckerboardShaderCache.DEFAULT_EVEN_COLOR));
+    allocateBuffer();
+  }
+
+  /**
+   * sets the number of palette pixels shown across the loupe.
+   *
+   * @param regionSize an odd number of pixels, so the selected pixel is the center one.
+   */
+  public void setRegionSize(@IntRange(from = 1) int regionSize) {
+    if (regionSize < 1 || regionSize % 2 == 0) {
+      throw new IllegalArgumentException(
+          "regionSize must be a positive odd number, was " + regionSize);
+    }
+    if (this.regionSize != regionSize) {
+      this.regionSize = regionSize;
+      allocateBuffer();
+      stale = true;
+      invalidate();
+    }
+  }
+
+  public int getRegionSize() {
+    return regionSize;
+  }
+
+  /** sets the color of the crosshair and the border. */
+  public void setCrosshairColor(@ColorInt int color) {
+    crosshairPaint.setColor(color);
+    borderPaint.setColor(color);
+    invalidate();
+  }
+
+  private void allocateBuffer() {
+    pixels = new int[regionSize * regionSize];
+    buffer = Bitmap.createBitmap(regionSize, regionSize, Bitmap.Config.ARGB_8888);
+    BitmapShader shader = new BitmapShader(buffer, Shader.TileMode.CLAMP, Shader.TileMode.CLAMP);
+    shader.setLocalMatrix(bufferMatrix);
+    pixelPaint.setShader(shader);
+    updateBufferMatrix();
+  }
+
+  /** scales the region bitmap onto the target. */
+  private void updateBufferMatrix() {
+    bufferMatrix.setScale(target.width() / regionSize, target.height() / regionSize);
+    bufferMatrix.postTranslate(target.left, target.top);
+    pixelPaint.getShader().setLocalMatrix(bufferMatrix);
+  }
+
+  /**
+   * copies the palette pixels around a point of the picker, unless the point lies on the same
+   * palette pixel as before.
+   */
+  void refresh(@NonNull PaletteGeometry geometry, int x, int y) {
+    long pixel = geometry.pixelAt(x, y);
+    if (pixel == centerPixel && !stale) {
+      return;
+    }
+    centerPixel = pixel;
+    stale = false;
+    if (pixel == PaletteGeometry.NO_PIXEL) {
+      buffer.eraseColor(Color.TRANSPARENT);
+    } else {
+      int left = Points.x(pixel) - regionSize / 2;
+      int top = Points.y(pixel) - regionSize / 2;
+      for (int row = 0, index = 0; row < regionSize; row++) {
+        for (int column = 0; column < regionSize; column++, index++) {
+          pixels[index] = geometry.pixel(left + column, top + row);
+        }
+      }
+      buffer.setPixels(pixels, 0, regionSize, 0, 0, regionSize, regionSize);
+    }
+    invalidate();
+  }
+
+  /** copies the region again on the next refresh, e.g. after the palette changed. */
+  void invalidateRegion() {
+    stale = true;
+  }
+
+  @Override
+  protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+    int size = SizeUtils.dp2Px(getContext(), DEFAULT_SIZE_DP);
+    setMeasuredDimension(
+        resolveSize(size, widthMeasureSpec), resolveSize(size, heightMeasureSpec));
+  }
+
+  @Override
+  protected void onSizeChanged(int width, int height, int oldWidth, int oldHeight) {
+    super.onSizeChanged(width, height, oldWidth, oldHeight);
+    float inset = borderPaint.getStrokeWidth() * 0.5f;
+    target.set(inset, inset, width - inset, height - inset);
+    updateBufferMatrix();
+  }
+
+  @Override
+  protected void onDraw(Canvas canvas) {
+    super.onDraw(canvas);
+    canvas.drawOval(target, tilePaint);
+    // no bitmap filtering: nearest-neighbour scaling keeps the pixels sharp.
+    canvas.drawOval(target, pixelPaint);
+    drawCrosshair(canvas);
+    canvas.drawOval(target, borderPaint);
+  }
+
+  /** outlines the center pixel and draws lines from it towards the edges. */
+  private void drawCrosshair(Canvas canvas) {
+    float cellWidth = target.width() / regionSize;
+    float cellHeight = target.height() / regionSize;
+    int center = regionSize / 2;
+    cell.set(
+        target.left + center * cellWidth,
+        target.top + center * cellHeight,
+        target.left + (center + 1) * cellWidth,
+        target.top + (center + 1) * cellHeight);
+    canvas.drawRect(cell, crosshairPaint);
+    float centerX = cell.centerX();
+    float centerY = cell.centerY();
+    canvas.drawLine(target.left, centerY, cell.left, centerY, crosshairPaint);
+    canvas.drawLine(cell.right, centerY, target.right, centerY, crosshairPaint);
+    canvas.drawLine(centerX, target.top, centerX, cell.top, crosshairPaint);
+    canvas.drawLine(centerX, cell.bottom, centerX, target.bottom, crosshairPaint);
+  }
+}
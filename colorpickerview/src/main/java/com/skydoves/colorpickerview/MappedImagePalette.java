@@ -0,0 +1,252 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+package com.skydoves.colorpickerview;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.drawable.Drawable;
+import androidx.annotation.DrawableRes;
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+import com.skydoves.colorpickerview.core.MappedPaletteRaster;
+import com.skydoves.colorpickerview.core.RawPaletteFormat;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * MappedImagePalette is a palette drawable backed by a memory-mapped {@link RawPaletteFormat}
+ * file, for {@link ColorPickerView#setPaletteDrawable(Drawable)}.
+ *
+ * <p>Sampling reads straight from the mapping, without decoding and without the raster on the
+ * Java heap. The bitmap for display is only built, row by row on a background thread, when the
+ * palette is first drawn; nothing is drawn until it is ready.
+ * {@link #fromResource(Context, int)} converts an image resource on first use and maps the
+ * converted file on every later launch.
+ */
+public class MappedImagePalette extends Drawable {
+
+  private static final String DIRECTORY = "colorpickerview";
+  private static final String EXTENSION = ".cpvr";
+
+  private final MappedPaletteRaster raster;
+  private final Paint paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+  @Nullable private Bitmap display;
+  private boolean building;
+  /** incremented on release, so a display bitmap built for an earlier generation is dropped. */
+  private int generation;
+
+  public MappedImagePalette(@NonNull MappedPaletteRaster raster) {
+    this.raster = raster;
+  }
+
+  /**
+   * maps a {@link RawPaletteFormat} file.
+   *
+   * @throws IOException when the file can not be read or is not a valid raw palette.
+   */
+  @WorkerThread
+  @NonNull
+  public static MappedImagePalette open(@NonNull File file) throws IOException {
+    return new MappedImagePalette(MappedPaletteRaster.open(file));
+  }
+
+  /**
+   * maps an image resource, converting it into a {@link RawPaletteFormat} file in the cache
+   * directory when no file converted since the app was last updated exists. Files converted by
+   * earlier installs are deleted once the new one is written.
+   *
+   * @throws IOException when the resource can not be decoded or the file can not be written.
+   */
+  @WorkerThread
+  @NonNull
+  public static MappedImagePalette fromResource(@NonNull Context context, @DrawableRes int resource)
+      throws IOException {
+    File directory = new File(context.getCacheDir(), DIRECTORY);
+    long installed = new File(context.getApplicationInfo().sourceDir).lastModified();
+    String name = context.getResources().getResourceEntryName(resource);
+    File file = new File(directory, name + "-" + installed + EXTENSION);
+    if (!file.exists()) {
+      BitmapFactory.Options options = new BitmapFactory.Options();
+      options.inScaled = false;
+      Bitmap bitmap = BitmapFactory.decodeResource(context.getResources(), resource, options);
+      if (bitmap == null) {
+        throw new IOException("the resource " + name + " can not be decoded.");
+      }
+      if (!directory.isDirectory() && !directory.mkdirs()) {
+        throw new IOException("the directory " + directory + " can not be created.");
+      }
+      compile(bitmap, file);
+      bitmap.recycle();
+      deleteStale(directory, name, file);
+    }
+    return open(file);
+  }
+
+  /** deletes the files of a resource converted by earlier installs, keeping the current one. */
+  private static void deleteStale(File directory, String name, File current) {
+    File[] files = directory.listFiles();
+    if (files == null) {
+      return;
+    }
+    String prefix = name + "-";
+    for (File sibling : files) {
+      String fileName = sibling.getName();
+      if (fileName.startsWith(prefix)
+          && fileName.endsWith(EXTENSION)
+          && isInstallStamp(fileName, prefix.length(), fileName.length() - EXTENSION.length())
+          && !sibling.equals(current)) {
+        sibling.delete();
+      }
+    }
+  }
+
+  /** checks that a file name holds only digits between the resource name and the extension. */
+  private static boolean isInstallStamp(String fileName, int start, int end) {
+    if (start >= end) {
+      return false;
+    }
+    for (int i = start; i < end; i++) {
+      if (!Character.isDigit(fileName.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * converts a bitmap into a {@link RawPaletteFormat} file. The file is written to a unique
+   * temporary file in the same directory and renamed, so a partially written file is never mapped
+   * and concurrent conversions do not write into each other.
+   */
+  @WorkerThread
+  public static void compile(@NonNull Bitmap bitmap, @NonNull File file) throws IOException {
+    int width = bitmap.getWidth();
+    int height = bitmap.getHeight();
+    int[] pixels = new int[width * height];
+    bitmap.getPixels(pixels, 0, width, 0, 0, width, height);
+    File temporary =
+        File.createTempFile(file.getName(), ".tmp", file.getAbsoluteFile().getParentFile());
+    try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(temporary))) {
+      RawPaletteFormat.write(pixels, width, height, stream);
+    } catch (IOException e) {
+      temporary.delete();
+      throw e;
+    }
+    if (!temporary.renameTo(file)) {
+      temporary.delete();
+      throw new IOException("the raw palette " + file + " can not be written.");
+    }
+  }
+
+  /** gets the mapped raster. */
+  @NonNull
+  public MappedPaletteRaster getRaster() {
+    return raster;
+  }
+
+  @Override
+  public void draw(@NonNull Canvas canvas) {
+    if (display == null) {
+      requestDisplayBitmap();
+      return;
+    }
+    canvas.drawBitmap(display, null, getBounds(), paint);
+  }
+
+  /** builds the display bitmap on the background thread, paging the mapping in off the frame. */
+  @MainThread
+  private void requestDisplayBitmap() {
+    if (building) {
+      return;
+    }
+    building = true;
+    int requested = generation;
+    ColorPickerExecutors.background()
+        .execute(
+            () -> {
+              Bitmap bitmap = buildDisplayBitmap();
+              ColorPickerExecutors.postToMain(
+                  () -> {
+                    if (requested != generation) {
+                      bitmap.recycle();
+                      return;
+                    }
+                    building = false;
+                    display = bitmap;
+                    invalidateSelf();
+                  });
+            });
+  }
+
+  @WorkerThread
+  private Bitmap buildDisplayBitmap() {
+    int width = raster.getWidth();
+    int height = raster.getHeight();
+    Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+    int[] row = new int[width];
+    for (int y = 0; y < height; y++) {
+      raster.copyRow(y, row);
+      bitmap.setPixels(row, 0, width, 0, y, width, 1);
+    }
+    return bitmap;
+  }
+
+  /** releases the display bitmap; it is built again when the palette is drawn. */
+  @MainThread
+  public void releaseDisplayBitmap() {
+    display = null;
+    building = false;
+    generation++;
+  }
+
+  @Override
+  public int getIntrinsicWidth() {
+    return raster.getWidth();
+  }
+
+  @Override
+  public int getIntrinsicHeight() {
+    return raster.getHeight();
+  }
+
+  @Override
+  public void setAlpha(int alpha) {
+    paint.setAlpha(alpha);
+    invalidateSelf();
+  }
+
+  @Override
+  public void setColorFilter(@Nullable ColorFilter colorFilter) {
+    paint.setColorFilter(colorFilter);
+    invalidateSelf();
+  }
+
+  @Override
+  public int getOpacity() {
+    return PixelFormat.TRANSLUCENT;
+  }
+}
@@ -0,0 +1,576 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import android.graphics.Bitmap;
+import android.graphics.Matrix;
+import android.graphics.Rect;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.widget.ImageView;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+import com.skydoves.colorpickerview.core.ColorSampler;
+import com.skydoves.colorpickerview.core.MappedPaletteRaster;
+import com.skydoves.colorpickerview.core.PaletteRaster;
+import com.skydoves.colorpickerview.core.Points;
+import com.skydoves.colorpickerview.core.SummedAreaTable;
+import com.skydoves.colorpickerview.core.WheelGeometry;
+
+/**
+ * PaletteGeometry maps view coordinates onto one kind of palette. It is resolved once when the
+ * palette drawable is set, so touch handling never branches on the drawable type.
+ */
+abstract class PaletteGeometry {
+
+  /** the result of {@link #pixelAt} for points off the palette. */
+  static final long NO_PIXEL = Long.MIN_VALUE;
+
+  /** Selection is a snapped point on the palette and the color under it. */
+  static final class Selection {
+    int x;
+    int y;
+    int color;
+    /** the color without the palette brightness applied. */
+    int pureColor;
+
+    void set(int x, int y, int color) {
+      set(x, y, color, color);
+    }
+
+    void set(int x, int y, int color, int pureColor) {
+      this.x = x;
+      this.y = y;
+      this.color = color;
+      this.pureColor = pureColor;
+    }
+  }
+
+  final ColorPickerView view;
+
+  PaletteGeometry(ColorPickerView view) {
+    this.view = view;
+  }
+
+  /**
+   * snaps a point onto the palette and samples the color under the snapped point in one pass.
+   *
+   * @param out receives the snapped point and its color.
+   */
+  abstract void locate(int x, int y, Selection out);
+
+  /**
+   * gets the color at a view coordinate.
+   *
+   * @return color, or 0 (transparent) outside of the palette.
+   */
+  abstract int colorAt(float x, float y);
+
+  /**
+   * maps a view coordinate to the palette pixel under it, for magnifying the palette. Palettes
+   * drawn at the view's resolution use view pixels.
+   *
+   * @return the packed pixel, see {@link Points}, or {@link #NO_PIXEL} off the palette.
+   */
+  long pixelAt(int x, int y) {
+    return Points.pack(x, y);
+  }
+
+  /**
+   * gets a palette pixel of {@link #pixelAt}, unaveraged.
+   *
+   * @return color, or 0 (transparent) outside of the palette.
+   */
+  int pixel(int x, int y) {
+    return colorAt(x, y);
+  }
+
+  /**
+   * sets the size of the box colors are averaged over, on palettes that support averaging.
+   *
+   * @param kernelSize width and height of the box in palette pixels, 1 for single pixels.
+   */
+  void setKernelSize(int kernelSize) {}
+
+  /** gets the size of the box {@link #colorAt} currently averages over, 1 for single pixels. */
+  int getAveragedKernelSize() {
+    return 1;
+  }
+
+  /** resolves the geometry of a palette drawable. */
+  static PaletteGeometry of(ColorPickerView view, ImageView palette, @Nullable Drawable drawable) {
+    if (drawable instanceof ColorHsvPalette) {
+      return new Hsv(view);
+    } else if (drawable instanceof SwatchGridPalette) {
+      return new Grid(view, (SwatchGridPalette) drawable);
+    } else if (drawable instanceof HardwareBitmapPalette) {
+      return new Hardware(view, palette, (HardwareBitmapPalette) drawable);
+    } else if (drawable instanceof TiledImagePalette) {
+      return new Tiled(view, palette, (TiledImagePalette) drawable);
+    } else if (drawable instanceof BitmapDrawable) {
+      return new Image(view, palette, drawable);
+    } else if (drawable instanceof MappedImagePalette) {
+      return new Mapped(view, palette, (MappedImagePalette) drawable);
+    }
+    return new Empty(view);
+  }
+
+  /**
+   * the default HSV wheel, mapped analytically with the math its raster is generated with, so
+   * sampling needs no pixels whether the raster is ready or not. The palette brightness is applied
+   * analytically too, matching the color filter the wheel is drawn with.
+   */
+  static final class Hsv extends PaletteGeometry {
+
+    Hsv(ColorPickerView view) {
+      super(view);
+    }
+
+    @Override
+    void locate(int x, int y, Selection out) {
+      long clamped = WheelGeometry.clampToWheel(x, y, view.getWidth(), view.getHeight());
+      int snappedX = Points.x(clamped);
+      int snappedY = Points.y(clamped);
+      int color = view.getColorFromBitmap(snappedX, snappedY);
+      int pureColor =
+          view.getPaletteBrightness() == 1f || color == 0
+              ? color
+              : WheelGeometry.colorAt(snappedX, snappedY, view.getWidth(), view.getHeight(), 1f);
+      out.set(snappedX, snappedY, color, pureColor);
+    }
+
+    @Override
+    int colorAt(float x, float y) {
+      int width = view.getWidth();
+      int height = view.getHeight();
+      if (x < 0 || y < 0 || x >= width || y >= height) {
+        return 0;
+      }
+      return WheelGeometry.colorAt(x, y, width, height, view.getPaletteBrightness());
+    }
+  }
+
+  /**
+   * an image palette of any shape, snapped by bisecting towards the center on transparent pixels.
+   * The color of the snapped point is remembered while bisecting instead of being sampled again.
+   */
+  static class Image extends PaletteGeometry implements ColorSampler {
+
+    /** tables are built from at most this many pixels, about 20 bytes each including the copy. */
+    static final int MAX_TABLE_PIXELS = 512 * 512;
+
+    private final ImageView palette;
+    final Drawable drawable;
+    private final Matrix inverse = new Matrix();
+    private final float[] mapped = new float[2];
+
+    private int insideX;
+    private int insideY;
+    private int insideColor;
+    private boolean insideSampled;
+
+    private int kernelSize = 1;
+    private int tableKernelSize = 1;
+    @Nullable private SummedAreaTable table;
+    private boolean building;
+    private boolean averagingUnsupported;
+
+    Image(ColorPickerView view, ImageView palette, Drawable drawable) {
+      super(view);
+      this.palette = palette;
+      this.drawable = drawable;
+    }
+
+    @Override
+    void locate(int x, int y, Selection out) {
+      int centerX = view.getMeasuredWidth() / 2;
+      int centerY = view.getMeasuredHeight() / 2;
+      insideSampled = false;
+      long point = WheelGeometry.approximatedPoint(x, y, centerX, centerY, this);
+      int snappedX = Points.x(point);
+      int snappedY = Points.y(point);
+      boolean reused =
+          reusesProbes() && insideSampled && insideX == snappedX && insideY == snappedY;
+      int color = reused ? insideColor : view.getColorFromBitmap(snappedX, snappedY);
+      out.set(snappedX, snappedY, color);
+    }
+
+    @Override
+    public int sample(int x, int y) {
+      int color = probe(x, y);
+      if (color != 0) {
+        insideX = x;
+        insideY = y;
+        insideColor = color;
+        insideSampled = true;
+      }
+      return color;
+    }
+
+    /** samples a point while bisecting. */
+    int probe(int x, int y) {
+      return view.getColorFromBitmap(x, y);
+    }
+
+    /** whether a probed color is accurate enough to be the color of the snapped point. */
+    boolean reusesProbes() {
+      return !averaging();
+    }
+
+    @Override
+    int colorAt(float x, float y) {
+      if (!mapToBitmap(x, y)) {
+        return 0;
+      }
+      SummedAreaTable table = this.table;
+      if (kernelSize > 1 && table != null) {
+        return table.averageRelative(mapped[0], mapped[1], tableKernelSize);
+      }
+      return sampleRelative(mapped[0], mapped[1]);
+    }
+
+    /**
+     * builds the {@link SummedAreaTable} of the palette on the background thread the first time
+     * averaging is enabled. Colors are sampled from single pixels until it is built, and for good
+     * when the palette can not be averaged or its table does not fit into memory.
+     *
+     * <p>Tables of large palettes are built from a copy downsampled to {@link #MAX_TABLE_PIXELS},
+     * with the kernel scaled down to match.
+     */
+    @Override
+    void setKernelSize(int kernelSize) {
+      this.kernelSize = kernelSize;
+      updateTableKernelSize();
+      if (kernelSize <= 1 || table != null || building || averagingUnsupported) {
+        return;
+      }
+      building = true;
+      ColorPickerExecutors.background()
+          .execute(
+              () -> {
+                SummedAreaTable built;
+                try {
+                  PaletteRaster raster = averagingRaster();
+                  built =
+                      raster != null
+                          ? SummedAreaTable.of(raster.downsample(MAX_TABLE_PIXELS))
+                          : null;
+                } catch (OutOfMemoryError e) {
+                  built = null;
+                }
+                SummedAreaTable result = built;
+                ColorPickerExecutors.postToMain(
+                    () -> {
+                      table = result;
+                      building = false;
+                      averagingUnsupported = result == null;
+                      updateTableKernelSize();
+                    });
+              });
+    }
+
+    /** scales the kernel from source pixels to the pixels of the table. */
+    private void updateTableKernelSize() {
+      SummedAreaTable table = this.table;
+      int width = sourceWidth();
+      if (table == null || width <= 0) {
+        tableKernelSize = kernelSize;
+        return;
+      }
+      tableKernelSize = Math.max(1, Math.round(kernelSize * (float) table.getWidth() / width));
+    }
+
+    @Override
+    int getAveragedKernelSize() {
+      return averaging() ? kernelSize : 1;
+    }
+
+    private boolean averaging() {
+      return kernelSize > 1 && table != null;
+    }
+
+    /**
+     * gets the pixels colors are averaged from, or null when the palette can not be averaged.
+     * Called on the background thread.
+     */
+    @WorkerThread
+    @Nullable
+    PaletteRaster averagingRaster() {
+      if (!(drawable instanceof BitmapDrawable)) {
+        return null;
+      }
+      Bitmap bitmap = ((BitmapDrawable) drawable).getBitmap();
+      if (bitmap == null || bitmap.isRecycled() || isHardware(bitmap)) {
+        return null;
+      }
+      int width = bitmap.getWidth();
+      int height = bitmap.getHeight();
+      Bitmap source = bitmap;
+      long area = (long) width * height;
+      if (area > MAX_TABLE_PIXELS) {
+        float scale = (float) Math.sqrt((double) MAX_TABLE_PIXELS / area);
+        width = Math.max(1, (int) (width * scale));
+        height = Math.max(1, (int) (height * scale));
+        source = Bitmap.createScaledBitmap(bitmap, width, height, true);
+      }
+      int[] pixels = new int[width * height];
+      source.getPixels(pixels, 0, width, 0, 0, width, height);
+      if (source != bitmap) {
+        source.recycle();
+      }
+      return new PaletteRaster(pixels, width, height);
+    }
+
+    static boolean isHardware(Bitmap bitmap) {
+      return Build.VERSION.SDK_INT >= Build.VERSION_CODES.O
+          && bitmap.getConfig() == Bitmap.Config.HARDWARE;
+    }
+
+    /**
+     * maps a view coordinate into the drawable's bitmap, as a position relative to its size.
+     *
+     * @return whether the point lies on the drawable.
+     */
+    final boolean mapToBitmap(float x, float y) {
+      palette.getImageMatrix().invert(inverse);
+      mapped[0] = x;
+      mapped[1] = y;
+      inverse.mapPoints(mapped);
+
+      if (mapped[0] < 0
+          || mapped[1] < 0
+          || mapped[0] >= drawable.getIntrinsicWidth()
+          || mapped[1] >= drawable.getIntrinsicHeight()) {
+        return false;
+      }
+      Rect rect = drawable.getBounds();
+      mapped[0] /= rect.width();
+      mapped[1] /= rect.height();
+      return true;
+    }
+
+    /** samples the drawable's pixels at a position relative to its size. */
+    int sampleRelative(float u, float v) {
+      Bitmap bitmap = ((BitmapDrawable) drawable).getBitmap();
+      return bitmap.getPixel((int) (u * bitmap.getWidth()), (int) (v * bitmap.getHeight()));
+    }
+
+    @Override
+    long pixelAt(int x, int y) {
+      if (!mapToBitmap(x, y)) {
+        return NO_PIXEL;
+      }
+      return Points.pack((int) (mapped[0] * sourceWidth()), (int) (mapped[1] * sourceHeight()));
+    }
+
+    @Override
+    int pixel(int x, int y) {
+      int width = sourceWidth();
+      int height = sourceHeight();
+      if (x < 0 || y < 0 || x >= width || y >= height) {
+        return 0;
+      }
+      return sampleRelative((x + 0.5f) / width, (y + 0.5f) / height);
+    }
+
+    /** gets the width of the image in its own pixels. */
+    int sourceWidth() {
+      return drawable instanceof BitmapDrawable
+          ? ((BitmapDrawable) drawable).getBitmap().getWidth()
+          : drawable.getIntrinsicWidth();
+    }
+
+    /** gets the height of the image in its own pixels. */
+    int sourceHeight() {
+      return drawable instanceof BitmapDrawable
+          ? ((BitmapDrawable) drawable).getBitmap().getHeight()
+          : drawable.getIntrinsicHeight();
+    }
+
+    /** gets the horizontal position mapped by {@link #mapToBitmap}. */
+    final float mappedU() {
+      return mapped[0];
+    }
+
+    /** gets the vertical position mapped by {@link #mapToBitmap}. */
+    final float mappedV() {
+      return mapped[1];
+    }
+  }
+
+  /** a {@link MappedImagePalette}, sampled from its memory-mapped raster. */
+  static final class Mapped extends Image {
+
+    private final MappedPaletteRaster raster;
+
+    Mapped(ColorPickerView view, ImageView palette, MappedImagePalette mapped) {
+      super(view, palette, mapped);
+      this.raster = mapped.getRaster();
+    }
+
+    @Override
+    int sampleRelative(float u, float v) {
+      return raster.sampleRelative(u, v);
+    }
+
+    /** copies the mapped rows, or a downsampled copy of them when the table would not fit. */
+    @Override
+    @Nullable
+    PaletteRaster averagingRaster() {
+      int width = raster.getWidth();
+      int height = raster.getHeight();
+      if ((long) width * height > MAX_TABLE_PIXELS) {
+        return PaletteRaster.downsample(raster, width, height, MAX_TABLE_PIXELS);
+      }
+      int[] pixels = new int[width * height];
+      int[] row = new int[width];
+      for (int y = 0; y < height; y++) {
+        raster.copyRow(y, row);
+        System.arraycopy(row, 0, pixels, y * width, width);
+      }
+      return new PaletteRaster(pixels, width, height);
+    }
+  }
+
+  /** a {@link HardwareBitmapPalette}, sampled from its CPU copy. */
+  static final class Hardware extends Image {
+
+    private final HardwareBitmapPalette hardware;
+
+    Hardware(ColorPickerView view, ImageView palette, HardwareBitmapPalette hardware) {
+      super(view, palette, hardware);
+      this.hardware = hardware;
+    }
+
+    @Override
+    int sampleRelative(float u, float v) {
+      return hardware.sampleRelative(u, v);
+    }
+
+    @Override
+    @Nullable
+    PaletteRaster averagingRaster() {
+      PaletteRaster raster = hardware.getRaster();
+      return raster != null ? raster : super.averagingRaster();
+    }
+  }
+
+  /**
+   * a {@link TiledImagePalette}. Bisection probes read the displayed overview, and colors are
+   * sampled from the source pixels through the palette's tile cache.
+   */
+  static final class Tiled extends Image {
+
+    private final TiledImagePalette tiled;
+
+    Tiled(ColorPickerView view, ImageView palette, TiledImagePalette tiled) {
+      super(view, palette, tiled);
+      this.tiled = tiled;
+    }
+
+    @Override
+    int probe(int x, int y) {
+      return mapToBitmap(x, y) ? sampleRelative(mappedU(), mappedV()) : 0;
+    }
+
+    @Override
+    boolean reusesProbes() {
+      return false;
+    }
+
+    @Override
+    int sourceWidth() {
+      return tiled.getSourceWidth();
+    }
+
+    @Override
+    int sourceHeight() {
+      return tiled.getSourceHeight();
+    }
+
+    /** magnifies the source pixels rather than the displayed overview. */
+    @Override
+    int pixel(int x, int y) {
+      return tiled.getSourcePixel(x, y);
+    }
+
+    /** source images are too large for a table; colors are read from single source pixels. */
+    @Override
+    @Nullable
+    PaletteRaster averagingRaster() {
+      return null;
+    }
+
+    @Override
+    int colorAt(float x, float y) {
+      if (!mapToBitmap(x, y)) {
+        return 0;
+      }
+      int sourceX = (int) (mappedU() * tiled.getSourceWidth());
+      int sourceY = (int) (mappedV() * tiled.getSourceHeight());
+      int color = tiled.getSourcePixel(sourceX, sourceY);
+      tiled.prefetchAround(sourceX, sourceY);
+      return color;
+    }
+  }
+
+  /** a {@link SwatchGridPalette}, snapped to the center of the swatch under the point. */
+  static final class Grid extends PaletteGeometry {
+
+    private final SwatchGridPalette grid;
+
+    Grid(ColorPickerView view, SwatchGridPalette grid) {
+      super(view);
+      this.grid = grid;
+    }
+
+    @Override
+    void locate(int x, int y, Selection out) {
+      int index = grid.nearestIndexAt(x, y);
+      if (index < 0) {
+        out.set(view.getMeasuredWidth() / 2, view.getMeasuredHeight() / 2, 0);
+        return;
+      }
+      out.set((int) grid.getCenterX(index), (int) grid.getCenterY(index), grid.getColor(index));
+    }
+
+    @Override
+    int colorAt(float x, float y) {
+      int index = grid.indexAt(x, y);
+      return index < 0 ? 0 : grid.getColor(index);
+    }
+  }
+
+  /** a palette that cannot be sampled; every point snaps to the center with no color. */
+  static final class Empty extends PaletteGeometry {
+
+    Empty(ColorPickerView view) {
+      super(view);
+    }
+
+    @Override
+    void locate(int x, int y, Selection out) {
+      out.set(view.getMeasuredWidth() / 2, view.getMeasuredHeight() / 2, 0);
+    }
+
+    @Override
+    int colorAt(float x, float y) {
+      return 0;
+    }
+  }
+}
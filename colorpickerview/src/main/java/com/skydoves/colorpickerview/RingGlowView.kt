@@ -1,6 +1,7 @@
 package com.skydoves.colorpickerview
 
 import android.content.Context
+import android.content.res.Configuration
 import android.graphics.*
 import android.util.AttributeSet
 import android.view.View
@@ -11,22 +12,48 @@ class RingGlowView : View {
     constructor(context: Context, attrs: AttributeSet?, defStyleAttr: Int) : super(context, attrs, defStyleAttr)
     constructor(context: Context, attrs: AttributeSet?, defStyleAttr: Int, defStyleRes: Int) : super(context, attrs, defStyleAttr, defStyleRes)
 
+    // The glow is rendered once per size into an alpha-only mask; an alpha-only bitmap shader is
+    // drawn with the paint's color, so changing glowColor only sets paint colors.
     private val paintGlow = Paint(Paint.ANTI_ALIAS_FLAG).apply {
         style = Paint.Style.FILL
+        color = Color.WHITE
     }
     private val paintOutline = Paint(Paint.ANTI_ALIAS_FLAG).apply {
         style = Paint.Style.STROKE
         color = Color.WHITE
     }
-    private var centerX = -1f
-    private var centerY = -1f
+    private val paintCache = Paint(Paint.FILTER_BITMAP_FLAG)
+
+    private var glowMask: Bitmap? = null
+
+    private var ringCache: Bitmap? = null
+    private var ringCacheCanvas: Canvas? = null
+    private var ringCacheValid = false
 
     var glowColor: Int = Color.WHITE
         set(value) {
             if (field != value) {
                 field = value
-                paintGlow.colorFilter = PorterDuffColorFilter(value, PorterDuff.Mode.SRC_IN)
-                paintOutline.colorFilter = PorterDuffColorFilter(value, PorterDuff.Mode.SRC_IN)
+                paintGlow.color = value
+                paintOutline.color = value
+                ringCacheValid = false
+                invalidate()
+            }
+        }
+
+    /**
+     * draws the ring from a cached bitmap, re-rendered only when the size or [glowColor] changes.
+     * Meant for static states; leave it off while the color changes on every frame.
+     */
+    var staticCacheEnabled: Boolean = false
+        set(value) {
+            if (field != value) {
+                field = value
+                if (!value) {
+                    ringCache = null
+                    ringCacheCanvas = null
+                }
+                ringCacheValid = false
                 invalidate()
             }
         }
@@ -34,32 +61,88 @@ class RingGlowView : View {
     private val glowExtentDp = 12
     private val strokeWidthDp = 1
 
+    private var glowExtent = 0
+
+    init {
+        resolveDimensions()
+    }
+
+    override fun onConfigurationChanged(newConfig: Configuration?) {
+        super.onConfigurationChanged(newConfig)
+        resolveDimensions()
+        if (width > 0 && height > 0) {
+            buildGlowMask(width, height)
+        }
+    }
+
+    override fun onSizeChanged(w: Int, h: Int, oldw: Int, oldh: Int) {
+        super.onSizeChanged(w, h, oldw, oldh)
+        if (w > 0 && h > 0) {
+            buildGlowMask(w, h)
+        }
+    }
+
     override fun onDraw(canvas: Canvas) {
         super.onDraw(canvas)
+        if (glowMask == null) {
+            return
+        }
 
+        if (staticCacheEnabled) {
+            val cache = ringCache ?: Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888).also {
+                ringCache = it
+                ringCacheCanvas = Canvas(it)
+            }
+            if (!ringCacheValid) {
+                cache.eraseColor(Color.TRANSPARENT)
+                drawRing(ringCacheCanvas!!)
+                ringCacheValid = true
+            }
+            canvas.drawBitmap(cache, 0f, 0f, paintCache)
+        } else {
+            drawRing(canvas)
+        }
+    }
+
+    private fun drawRing(canvas: Canvas) {
         val centerX = width / 2f
         val centerY = height / 2f
+        canvas.drawCircle(centerX, centerY, centerX, paintGlow)
+        canvas.drawCircle(centerX, centerY, (width - 2 * glowExtent) / 2f, paintOutline)
+    }
 
-        val glowExtent = SizeUtils.dp2Px(context, glowExtentDp)
+    private fun resolveDimensions() {
+        glowExtent = SizeUtils.dp2Px(context, glowExtentDp)
+        paintOutline.strokeWidth = SizeUtils.dp2Px(context, strokeWidthDp).toFloat()
+        ringCacheValid = false
+    }
 
-        if (this.centerX != centerX || this.centerY != centerY) {
-            this.centerX = centerX
-            this.centerY = centerY
+    private fun buildGlowMask(width: Int, height: Int) {
+        val centerX = width / 2f
+        val centerY = height / 2f
 
-            val radius = centerX
-            val colors = intArrayOf(Color.TRANSPARENT, Color.TRANSPARENT, 0x80ffffff.toInt(), Color.TRANSPARENT)
+        val radius = centerX
+        val colors = intArrayOf(Color.TRANSPARENT, Color.TRANSPARENT, 0x80ffffff.toInt(), Color.TRANSPARENT)
 
-            val stopStart = 1f - (4f * glowExtent) / width
-            val stopCenter = 1f - (2f * glowExtent) / width
+        val stopStart = 1f - (4f * glowExtent) / width
+        val stopCenter = 1f - (2f * glowExtent) / width
 
-            val stops = floatArrayOf(0f, stopStart, stopCenter, 1f)
-            paintGlow.shader = RadialGradient(centerX, centerY, radius, colors, stops, Shader.TileMode.CLAMP)
+        val stops = floatArrayOf(0f, stopStart, stopCenter, 1f)
+        val gradientPaint = Paint(Paint.ANTI_ALIAS_FLAG).apply {
+            shader = RadialGradient(centerX, centerY, radius, colors, stops, Shader.TileMode.CLAMP)
         }
 
-        canvas.drawCircle(centerX, centerY, centerX, paintGlow)
+        val mask = glowMask?.takeIf { it.width == width && it.height == height }
+            ?: Bitmap.createBitmap(width, height, Bitmap.Config.ALPHA_8)
+        if (mask === glowMask) {
+            mask.eraseColor(Color.TRANSPARENT)
+        }
+        glowMask = mask
+        Canvas(mask).drawCircle(centerX, centerY, radius, gradientPaint)
+        paintGlow.shader = BitmapShader(mask, Shader.TileMode.CLAMP, Shader.TileMode.CLAMP)
 
-        paintOutline.strokeWidth = SizeUtils.dp2Px(context, strokeWidthDp).toFloat()
-        canvas.drawCircle(centerX, centerX, (width - 2 * glowExtent) / 2f, paintOutline)
+        ringCache = null
+        ringCacheCanvas = null
+        ringCacheValid = false
     }
-
 }
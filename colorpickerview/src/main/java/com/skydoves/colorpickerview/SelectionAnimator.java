@@ -0,0 +1,194 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.TimeInterpolator;
+import android.animation.ValueAnimator;
+import androidx.annotation.Nullable;
+import com.skydoves.colorpickerview.core.ColorMath;
+import com.skydoves.colorpickerview.core.Points;
+import com.skydoves.colorpickerview.core.WheelGeometry;
+
+/**
+ * SelectionAnimator moves the selector of a {@link ColorPickerView} with one reused {@link
+ * ValueAnimator}.
+ *
+ * <p>Towards a color the hue, saturation, value and alpha are interpolated, so the selector
+ * follows the wheel; towards a point the angle and radius around the view center are
+ * interpolated. Angles take the shorter way around the circle. Frames compute everything from
+ * primitive fields and allocate nothing, and the last frame applies the exact target.
+ */
+final class SelectionAnimator extends AnimatorListenerAdapter
+    implements ValueAnimator.AnimatorUpdateListener {
+
+  static final long DEFAULT_DURATION = 300L;
+
+  private final ColorPickerView view;
+  private final ValueAnimator animator = ValueAnimator.ofFloat(0f, 1f);
+  private final float[] hsv = new float[3];
+
+  private boolean towardsColor;
+  private boolean cancelled;
+
+  private float startHue;
+  private float hueDelta;
+  private float startSaturation;
+  private float saturationDelta;
+  private float startValue;
+  private float valueDelta;
+  private int startAlpha;
+  private int alphaDelta;
+  private int targetColor;
+
+  private float centerX;
+  private float centerY;
+  private float startAngle;
+  private float angleDelta;
+  private float startRadius;
+  private float radiusDelta;
+  private int targetX;
+  private int targetY;
+
+  SelectionAnimator(ColorPickerView view) {
+    this.view = view;
+    animator.setDuration(DEFAULT_DURATION);
+    animator.addUpdateListener(this);
+    animator.addListener(this);
+  }
+
+  void setDuration(long duration) {
+    animator.setDuration(duration);
+  }
+
+  /** sets the interpolator, or null for the default accelerate-decelerate interpolator. */
+  void setInterpolator(@Nullable TimeInterpolator interpolator) {
+    animator.setInterpolator(interpolator);
+  }
+
+  boolean isRunning() {
+    return animator.isRunning();
+  }
+
+  /** stops at the current frame without invoking the listener. */
+  void cancel() {
+    animator.cancel();
+  }
+
+  /** animates from a color to a color on the {@link ColorHsvPalette}. */
+  void animateToColor(int fromColor, int toColor) {
+    cancel();
+    ColorMath.colorToHsv(fromColor, hsv);
+    startHue = hsv[0];
+    startSaturation = hsv[1];
+    startValue = hsv[2];
+    ColorMath.colorToHsv(toColor, hsv);
+    // grays lie on the center and have no hue; move radially from or to them.
+    if (startSaturation == 0f) {
+      startHue = hsv[0];
+    }
+    hueDelta = hsv[1] == 0f ? 0f : ColorMath.hueDelta(startHue, hsv[0]);
+    saturationDelta = hsv[1] - startSaturation;
+    valueDelta = hsv[2] - startValue;
+    startAlpha = ColorMath.alpha(fromColor);
+    alphaDelta = ColorMath.alpha(toColor) - startAlpha;
+    targetColor = toColor;
+    towardsColor = true;
+    start();
+  }
+
+  /** animates from a point to a point on the view. */
+  void animateToPoint(int fromX, int fromY, int toX, int toY) {
+    cancel();
+    centerX = view.getWidth() * 0.5f;
+    centerY = view.getHeight() * 0.5f;
+    startAngle = angleOf(fromX, fromY);
+    startRadius = radiusOf(fromX, fromY);
+    float endAngle = angleOf(toX, toY);
+    float endRadius = radiusOf(toX, toY);
+    if (startRadius == 0f) {
+      startAngle = endAngle;
+    }
+    angleDelta = endRadius == 0f ? 0f : ColorMath.hueDelta(startAngle, endAngle);
+    radiusDelta = endRadius - startRadius;
+    targetX = toX;
+    targetY = toY;
+    towardsColor = false;
+    start();
+  }
+
+  private void start() {
+    cancelled = false;
+    animator.start();
+  }
+
+  @Override
+  public void onAnimationUpdate(ValueAnimator animation) {
+    // the end applies the exact target instead of the last frame.
+    if (animation.getCurrentPlayTime() < animation.getDuration()) {
+      applyFrame(animation.getAnimatedFraction(), false);
+    }
+  }
+
+  @Override
+  public void onAnimationCancel(Animator animation) {
+    cancelled = true;
+  }
+
+  @Override
+  public void onAnimationEnd(Animator animation) {
+    if (!cancelled) {
+      applyFrame(1f, true);
+    }
+  }
+
+  private void applyFrame(float fraction, boolean last) {
+    if (towardsColor) {
+      float hue = startHue + hueDelta * fraction;
+      float saturation = startSaturation + saturationDelta * fraction;
+      long point = WheelGeometry.pointOf(hue, saturation, view.getWidth(), view.getHeight());
+      int x = Points.x(point);
+      int y = Points.y(point);
+      if (last) {
+        view.applyAnimatedSelection(x, y, targetColor, targetColor, true);
+        return;
+      }
+      int alpha = startAlpha + Math.round(alphaDelta * fraction);
+      int color = ColorMath.hsvToColor(alpha, hue, saturation, startValue + valueDelta * fraction);
+      int pureColor = ColorMath.hsvToColor(0xFF, hue, saturation, 1f);
+      view.applyAnimatedSelection(x, y, color, pureColor, false);
+    } else if (last) {
+      view.applyAnimatedPoint(targetX, targetY, true);
+    } else {
+      double angle = Math.toRadians(startAngle + angleDelta * fraction);
+      float radius = startRadius + radiusDelta * fraction;
+      int x = Math.round(centerX + radius * (float) Math.cos(angle));
+      int y = Math.round(centerY + radius * (float) Math.sin(angle));
+      view.applyAnimatedPoint(x, y, false);
+    }
+  }
+
+  private float angleOf(int x, int y) {
+    return (float) Math.toDegrees(Math.atan2(y - centerY, x - centerX));
+  }
+
+  private float radiusOf(int x, int y) {
+    return (float) Math.hypot(x - centerX, y - centerY);
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import androidx.annotation.ColorInt;
+import androidx.annotation.IntRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.Px;
+
+/**
+ * SwatchGridPalette is a palette drawable of fixed color swatches laid out in a grid, for
+ * {@link ColorPickerView#setPaletteDrawable(Drawable)}.
+ *
+ * <p>Colors are stored in an {@code int[]} and drawn with one reused {@link Paint}, visiting only
+ * the cells inside the canvas clip, so thousands of swatches cost no views and no allocations per
+ * frame. A touch is mapped to its swatch by row and column arithmetic, the selector snaps to the
+ * swatch center and the {@link com.skydoves.colorpickerview.listeners.ColorListener} receives the
+ * swatch color.
+ */
+public class SwatchGridPalette extends Drawable {
+
+  private final Paint paint = new Paint();
+  private final Rect clip = new Rect();
+
+  private int[] colors;
+  private int columns;
+  @Px private int spacing;
+  private int alpha = 0xFF;
+
+  /**
+   * @param colors swatch colors in row-major order; the array is copied.
+   * @param columns number of columns.
+   */
+  public SwatchGridPalette(@NonNull @ColorInt int[] colors, @IntRange(from = 1) int columns) {
+    setColumns(columns);
+    this.colors = colors.clone();
+  }
+
+  /**
+   * sets the swatch colors.
+   *
+   * @param colors swatch colors in row-major order; the array is copied.
+   */
+  public void setColors(@NonNull @ColorInt int[] colors) {
+    this.colors = colors.clone();
+    invalidateSelf();
+  }
+
+  /** sets the number of columns. */
+  public void setColumns(@IntRange(from = 1) int columns) {
+    if (columns < 1) {
+      throw new IllegalArgumentException("columns must be at least 1, was " + columns);
+    }
+    this.columns = columns;
+    invalidateSelf();
+  }
+
+  /** sets the gap drawn between swatches. Touches on a gap select the swatch it belongs to. */
+  public void setSpacing(@Px int spacing) {
+    this.spacing = Math.max(0, spacing);
+    invalidateSelf();
+  }
+
+  public int getCount() {
+    return colors.length;
+  }
+
+  public int getColumns() {
+    return columns;
+  }
+
+  public int getRows() {
+    return (colors.length + columns - 1) / columns;
+  }
+
+  /** gets the color of a swatch. */
+  public @ColorInt int getColor(int index) {
+    return colors[index];
+  }
+
+  /**
+   * gets the swatch at a point of the drawable's bounds.
+   *
+   * @return the swatch index, or -1 outside of the swatches.
+   */
+  public int indexAt(float x, float y) {
+    Rect bounds = getBounds();
+    int rows = getRows();
+    if (rows == 0 || x < bounds.left || y < bounds.top || x >= bounds.right || y >= bounds.bottom) {
+      return -1;
+    }
+    int column = (int) ((x - bounds.left) * columns / bounds.width());
+    int row = (int) ((y - bounds.top) * rows / bounds.height());
+    int index = row * columns + Math.min(column, columns - 1);
+    return index < colors.length ? index : -1;
+  }
+
+  /**
+   * gets the swatch nearest to a point, clamping the point into the bounds and onto the last row.
+   *
+   * @return the swatch index, or -1 when there are no swatches.
+   */
+  public int nearestIndexAt(float x, float y) {
+    Rect bounds = getBounds();
+    int rows = getRows();
+    if (rows == 0 || bounds.isEmpty()) {
+      return -1;
+    }
+    int column = clamp((int) ((x - bounds.left) * columns / bounds.width()), columns);
+    int row = clamp((int) ((y - bounds.top) * rows / bounds.height()), rows);
+    return Math.min(row * columns + column, colors.length - 1);
+  }
+
+  /** gets the horizontal center of a swatch. */
+  public float getCenterX(int index) {
+    Rect bounds = getBounds();
+    return bounds.left + ((index % columns) + 0.5f) * bounds.width() / columns;
+  }
+
+  /** gets the vertical center of a swatch. */
+  public float getCenterY(int index) {
+    Rect bounds = getBounds();
+    return bounds.top + ((index / columns) + 0.5f) * bounds.height() / getRows();
+  }
+
+  @Override
+  public void draw(@NonNull Canvas canvas) {
+    Rect bounds = getBounds();
+    int rows = getRows();
+    if (rows == 0 || bounds.isEmpty() || !canvas.getClipBounds(clip)) {
+      return;
+    }
+    float cellWidth = (float) bounds.width() / columns;
+    float cellHeight = (float) bounds.height() / rows;
+    int firstColumn = clamp((int) ((clip.left - bounds.left) / cellWidth), columns);
+    int lastColumn = clamp((int) ((clip.right - bounds.left) / cellWidth), columns);
+    int firstRow = clamp((int) ((clip.top - bounds.top) / cellHeight), rows);
+    int lastRow = clamp((int) ((clip.bottom - bounds.top) / cellHeight), rows);
+    float inset = spacing * 0.5f;
+
+    for (int row = firstRow; row <= lastRow; row++) {
+      float top = bounds.top + row * cellHeight;
+      int offset = row * columns;
+      int end = Math.min(lastColumn, colors.length - 1 - offset);
+      for (int column = firstColumn; column <= end; column++) {
+        float left = bounds.left + column * cellWidth;
+        int color = colors[offset + column];
+        paint.setColor(color);
+        if (alpha != 0xFF) {
+          paint.setAlpha((color >>> 24) * alpha / 0xFF);
+        }
+        canvas.drawRect(
+            left + inset, top + inset, left + cellWidth - inset, top + cellHeight - inset, paint);
+      }
+    }
+  }
+
+  private static int clamp(int value, int count) {
+    return Math.max(0, Math.min(value, count - 1));
+  }
+
+  @Override
+  public void setAlpha(int alpha) {
+    this.alpha = alpha;
+    invalidateSelf();
+  }
+
+  @Override
+  public int getAlpha() {
+    return alpha;
+  }
+
+  @Override
+  public void setColorFilter(@Nullable ColorFilter colorFilter) {
+    paint.setColorFilter(colorFilter);
+    invalidateSelf();
+  }
+
+  @Override
+  public int getOpacity() {
+    return PixelFormat.TRANSLUCENT;
+  }
+}
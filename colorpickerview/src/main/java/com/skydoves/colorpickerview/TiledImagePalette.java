@@ -0,0 +1,312 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.BitmapRegionDecoder;
+import android.graphics.Rect;
+import android.graphics.drawable.BitmapDrawable;
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.Px;
+import androidx.annotation.WorkerThread;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * TiledImagePalette is a palette drawable for images too large to decode whole, for {@link
+ * ColorPickerView#setPaletteDrawable(android.graphics.drawable.Drawable)}.
+ *
+ * <p>It displays a downsampled overview of the image, and samples colors from the source pixels
+ * by decoding square tiles with a {@link BitmapRegionDecoder}. Tiles are decoded on a background
+ * thread only, the tile under the selector and its neighbours ahead of time; until a tile arrives,
+ * its pixels are read from the overview, and an {@link OnTileDecodedListener} is notified once it
+ * does. Decoded tiles are kept in an LRU cache bounded in bytes
+ * and indexed by tile, so sampling allocates nothing. Call {@link #recycle()} once the palette is
+ * replaced.
+ */
+public class TiledImagePalette extends BitmapDrawable {
+
+  public static final int DEFAULT_OVERVIEW_SIZE = 1024;
+  public static final int DEFAULT_TILE_SIZE = 256;
+  public static final int DEFAULT_TILE_CACHE_BYTES = 4 * 1024 * 1024;
+
+  /** OnTileDecodedListener is notified when the source pixels of a tile become available. */
+  public interface OnTileDecodedListener {
+    /**
+     * invoked on the main thread when a tile is decoded and cached.
+     *
+     * @param left the left edge of the tile in source pixels.
+     * @param top the top edge of the tile in source pixels.
+     * @param right the right edge of the tile in source pixels, exclusive.
+     * @param bottom the bottom edge of the tile in source pixels, exclusive.
+     */
+    void onTileDecoded(
+        @NonNull TiledImagePalette palette, int left, int top, int right, int bottom);
+  }
+
+  private final BitmapRegionDecoder decoder;
+  private final int sourceWidth;
+  private final int sourceHeight;
+  private final int tileSize;
+  private final int tileColumns;
+  private final int tileRows;
+  private final int tileCacheBytes;
+  /** decoded tiles by {@link #tileKey}, with the use they were last sampled at. */
+  private final Bitmap[] tiles;
+  private final long[] tileUses;
+  private final boolean[] pendingTiles;
+  private int cachedBytes;
+  private long uses;
+  private boolean recycled;
+  @Nullable private OnTileDecodedListener onTileDecodedListener;
+
+  private TiledImagePalette(
+      Resources resources,
+      Bitmap overview,
+      BitmapRegionDecoder decoder,
+      int tileSize,
+      int tileCacheBytes) {
+    super(resources, overview);
+    this.decoder = decoder;
+    this.sourceWidth = decoder.getWidth();
+    this.sourceHeight = decoder.getHeight();
+    this.tileSize = tileSize;
+    this.tileColumns = (sourceWidth + tileSize - 1) / tileSize;
+    this.tileRows = (sourceHeight + tileSize - 1) / tileSize;
+    this.tileCacheBytes = tileCacheBytes;
+    this.tiles = new Bitmap[tileColumns * tileRows];
+    this.tileUses = new long[tiles.length];
+    this.pendingTiles = new boolean[tiles.length];
+  }
+
+  /**
+   * creates a tiled palette with the default overview size, tile size and tile cache size.
+   *
+   * @param stream encoded JPEG or PNG image; it is read fully but not closed.
+   */
+  @WorkerThread
+  @NonNull
+  public static TiledImagePalette create(@NonNull Resources resources, @NonNull InputStream stream)
+      throws IOException {
+    return create(
+        resources, stream, DEFAULT_OVERVIEW_SIZE, DEFAULT_TILE_SIZE, DEFAULT_TILE_CACHE_BYTES);
+  }
+
+  /**
+   * creates a tiled palette.
+   *
+   * @param stream encoded JPEG or PNG image; it is read fully but not closed.
+   * @param overviewSize the displayed overview is downsampled by powers of two until its longer
+   *     side is at most this size.
+   * @param tileSize width/height of the decoded tiles in source pixels.
+   * @param tileCacheBytes maximum bytes of decoded tiles kept in memory.
+   */
+  @WorkerThread
+  @NonNull
+  public static TiledImagePalette create(
+      @NonNull Resources resources,
+      @NonNull InputStream stream,
+      @Px int overviewSize,
+      @Px int tileSize,
+      int tileCacheBytes)
+      throws IOException {
+    @SuppressWarnings("deprecation")
+    BitmapRegionDecoder decoder = BitmapRegionDecoder.newInstance(stream, false);
+    if (decoder == null) {
+      throw new IOException("the image can not be decoded by regions.");
+    }
+    int longerSide = Math.max(decoder.getWidth(), decoder.getHeight());
+    BitmapFactory.Options options = new BitmapFactory.Options();
+    options.inSampleSize = 1;
+    while (longerSide / options.inSampleSize > overviewSize) {
+      options.inSampleSize *= 2;
+    }
+    Bitmap overview =
+        decoder.decodeRegion(new Rect(0, 0, decoder.getWidth(), decoder.getHeight()), options);
+    if (overview == null) {
+      decoder.recycle();
+      throw new IOException("the overview of the image can not be decoded.");
+    }
+    return new TiledImagePalette(resources, overview, decoder, tileSize, tileCacheBytes);
+  }
+
+  /** gets the width of the source image. */
+  public int getSourceWidth() {
+    return sourceWidth;
+  }
+
+  /** gets the height of the source image. */
+  public int getSourceHeight() {
+    return sourceHeight;
+  }
+
+  /**
+   * gets a pixel of the source image. When its tile is not decoded yet, the tile is requested
+   * from the background thread and the pixel is read from the overview meanwhile.
+   *
+   * @return color, or 0 (transparent) outside of the image or once recycled.
+   */
+  @MainThread
+  public int getSourcePixel(int x, int y) {
+    if (recycled || x < 0 || y < 0 || x >= sourceWidth || y >= sourceHeight) {
+      return 0;
+    }
+    int column = x / tileSize;
+    int row = y / tileSize;
+    int key = tileKey(column, row);
+    Bitmap tile = tiles[key];
+    if (tile == null) {
+      requestTile(column, row);
+      return getOverviewPixel(x, y);
+    }
+    tileUses[key] = ++uses;
+    return tile.getPixel(x - column * tileSize, y - row * tileSize);
+  }
+
+  /**
+   * sets a listener notified when a tile arrives, so colors read from the overview meanwhile can
+   * be sampled again.
+   */
+  @MainThread
+  public void setOnTileDecodedListener(@Nullable OnTileDecodedListener listener) {
+    this.onTileDecodedListener = listener;
+  }
+
+  /** decodes the tiles around a source pixel ahead on a background thread. */
+  @MainThread
+  public void prefetchAround(int x, int y) {
+    if (recycled) {
+      return;
+    }
+    int centerColumn = x / tileSize;
+    int centerRow = y / tileSize;
+    for (int row = Math.max(0, centerRow - 1);
+        row <= Math.min(tileRows - 1, centerRow + 1);
+        row++) {
+      for (int column = Math.max(0, centerColumn - 1);
+          column <= Math.min(tileColumns - 1, centerColumn + 1);
+          column++) {
+        requestTile(column, row);
+      }
+    }
+  }
+
+  /** releases the decoder and the cached tiles; sampling returns 0 afterwards. */
+  @MainThread
+  public void recycle() {
+    recycled = true;
+    decoder.recycle();
+    Arrays.fill(tiles, null);
+    cachedBytes = 0;
+  }
+
+  private int tileKey(int column, int row) {
+    return row * tileColumns + column;
+  }
+
+  /** reads a source pixel from the downsampled overview. */
+  private int getOverviewPixel(int x, int y) {
+    Bitmap overview = getBitmap();
+    if (overview == null || overview.isRecycled()) {
+      return 0;
+    }
+    int overviewX = (int) ((long) x * overview.getWidth() / sourceWidth);
+    int overviewY = (int) ((long) y * overview.getHeight() / sourceHeight);
+    return overview.getPixel(overviewX, overviewY);
+  }
+
+  /** decodes a tile on the background thread unless it is cached or already requested. */
+  private void requestTile(int column, int row) {
+    int key = tileKey(column, row);
+    if (tiles[key] != null || pendingTiles[key]) {
+      return;
+    }
+    pendingTiles[key] = true;
+    ColorPickerExecutors.background()
+        .execute(
+            () -> {
+              Bitmap tile = decodeTile(column, row);
+              ColorPickerExecutors.postToMain(() -> onTileDecoded(key, tile));
+            });
+  }
+
+  @MainThread
+  private void onTileDecoded(int key, @Nullable Bitmap tile) {
+    pendingTiles[key] = false;
+    if (tile == null) {
+      return;
+    }
+    if (recycled || tiles[key] != null) {
+      tile.recycle();
+      return;
+    }
+    tiles[key] = tile;
+    tileUses[key] = ++uses;
+    cachedBytes += tile.getRowBytes() * tile.getHeight();
+    trimTiles(key);
+    OnTileDecodedListener listener = onTileDecodedListener;
+    if (listener != null) {
+      int left = (key % tileColumns) * tileSize;
+      int top = (key / tileColumns) * tileSize;
+      int right = Math.min(left + tileSize, sourceWidth);
+      int bottom = Math.min(top + tileSize, sourceHeight);
+      listener.onTileDecoded(this, left, top, right, bottom);
+    }
+  }
+
+  /** evicts the least recently sampled tiles, except the given one, until the cache fits. */
+  private void trimTiles(int keep) {
+    while (cachedBytes > tileCacheBytes) {
+      int eldest = -1;
+      for (int key = 0; key < tiles.length; key++) {
+        if (key != keep && tiles[key] != null && (eldest < 0 || tileUses[key] < tileUses[eldest])) {
+          eldest = key;
+        }
+      }
+      if (eldest < 0) {
+        return;
+      }
+      Bitmap evicted = tiles[eldest];
+      tiles[eldest] = null;
+      cachedBytes -= evicted.getRowBytes() * evicted.getHeight();
+    }
+  }
+
+  @Nullable
+  @WorkerThread
+  private Bitmap decodeTile(int column, int row) {
+    if (decoder.isRecycled()) {
+      return null;
+    }
+    int left = column * tileSize;
+    int top = row * tileSize;
+    Rect region = new Rect();
+    region.set(
+        left, top, Math.min(left + tileSize, sourceWidth), Math.min(top + tileSize, sourceHeight));
+    try {
+      return decoder.decodeRegion(region, null);
+    } catch (IllegalStateException e) {
+      // recycled concurrently from the main thread.
+      return null;
+    }
+  }
+}
@@ -18,6 +18,7 @@ package com.skydoves.colorpickerview.flag;
 
 import android.content.Context;
 import android.content.res.ColorStateList;
+import android.view.View;
 import androidx.appcompat.widget.AppCompatImageView;
 import androidx.core.widget.ImageViewCompat;
 import com.skydoves.colorpickerview.ColorEnvelope;
@@ -33,6 +34,23 @@ public class BubbleFlag extends FlagView {
     this.bubble = findViewById(R.id.bubble);
   }
 
+  public BubbleFlag(Context context, View content) {
+    super(context, content);
+    this.bubble = findViewById(R.id.bubble);
+  }
+
+  /**
+   * creates a {@link FlagViewPool} of {@link BubbleFlag}s.
+   *
+   * @param context a themed context the flags are created with.
+   * @param capacity the number of flags kept ready.
+   * @return a new pool, call {@link FlagViewPool#prewarm()} to fill it.
+   */
+  public static FlagViewPool<BubbleFlag> newPool(Context context, int capacity) {
+    return new FlagViewPool<>(
+        context, R.layout.flag_bubble_colorpickerview_skydoves, capacity, BubbleFlag::new);
+  }
+
   /**
    * invoked when selector is moved.
    *
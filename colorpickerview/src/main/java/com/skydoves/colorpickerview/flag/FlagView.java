@@ -36,6 +36,19 @@ public abstract class FlagView extends RelativeLayout {
     initializeLayout(layout);
   }
 
+  /**
+   * creates a flag around an already inflated content view, e.g. one inflated off the main thread
+   * by {@link FlagViewPool}.
+   *
+   * @param context context.
+   * @param content the inflated flag layout.
+   */
+  public FlagView(Context context, View content) {
+    super(context);
+    addView(content);
+    measureAndLayout(this);
+  }
+
   /** called whenever color is changed on {@link com.skydoves.colorpickerview.ColorPickerView}. */
   public abstract void onRefresh(ColorEnvelope colorEnvelope);
 
@@ -58,6 +71,10 @@ public abstract class FlagView extends RelativeLayout {
 
   private void initializeLayout(int layout) {
     View inflated = LayoutInflater.from(getContext()).inflate(layout, this);
+    measureAndLayout(inflated);
+  }
+
+  private static void measureAndLayout(View inflated) {
     inflated.setLayoutParams(
         new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT));
     inflated.measure(
@@ -0,0 +1,167 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview.flag;
+
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import androidx.annotation.LayoutRes;
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.asynclayoutinflater.view.AsyncLayoutInflater;
+import java.util.ArrayDeque;
+
+/**
+ * FlagViewPool keeps a few {@link FlagView}s ready, so showing a picker does not pay the flag
+ * inflation cost on the main thread.
+ *
+ * <p>Flag layouts are inflated on a background thread by {@link AsyncLayoutInflater} and wrapped
+ * into flags on the main thread. Acquired flags go back into the pool with {@link
+ * #release(FlagView)}, and the pool refills itself in the background after every acquire.
+ *
+ * @param <T> the type of the pooled flags.
+ */
+@SuppressWarnings("unused")
+public final class FlagViewPool<T extends FlagView> {
+
+  /** Factory creates a flag around a layout inflated by the pool. */
+  public interface Factory<T extends FlagView> {
+    T create(@NonNull Context context, @NonNull View content);
+  }
+
+  private final Context context;
+  @LayoutRes private final int layout;
+  private final int capacity;
+  private final Factory<T> factory;
+  private final ArrayDeque<T> flags;
+  private FlagMode flagMode = FlagMode.ALWAYS;
+  private AsyncLayoutInflater asyncLayoutInflater;
+  private int pendingInflations;
+
+  /**
+   * @param context a themed context the flags are created with.
+   * @param layout the flag layout resource.
+   * @param capacity the number of flags kept ready.
+   * @param factory creates a flag around an inflated layout.
+   */
+  public FlagViewPool(
+      @NonNull Context context,
+      @LayoutRes int layout,
+      int capacity,
+      @NonNull Factory<T> factory) {
+    this.context = context;
+    this.layout = layout;
+    this.capacity = capacity;
+    this.factory = factory;
+    this.flags = new ArrayDeque<>(capacity);
+  }
+
+  /** starts inflating flags in the background until the pool holds its capacity. */
+  @MainThread
+  public void prewarm() {
+    if (asyncLayoutInflater == null) {
+      asyncLayoutInflater = new AsyncLayoutInflater(context);
+    }
+    while (flags.size() + pendingInflations < capacity) {
+      pendingInflations++;
+      asyncLayoutInflater.inflate(
+          layout,
+          null,
+          (view, resid, parent) -> {
+            pendingInflations--;
+            if (flags.size() < capacity) {
+              flags.add(create(view));
+            }
+          });
+    }
+  }
+
+  /**
+   * gets a pooled flag, inflating one synchronously only when the pool is empty.
+   *
+   * @return a flag ready for {@link com.skydoves.colorpickerview.ColorPickerView#setFlagView}.
+   */
+  @MainThread
+  @NonNull
+  public T acquire() {
+    T flag = flags.poll();
+    if (flag == null) {
+      flag = create(LayoutInflater.from(context).inflate(layout, null, false));
+    }
+    prewarm();
+    return flag;
+  }
+
+  /**
+   * recycles a flag back into the pool. Remove it from its picker with {@code setFlagView(null)}
+   * first; a flag still attached to a parent is detached here.
+   *
+   * @param flag a flag acquired from this pool.
+   */
+  @MainThread
+  public void release(@NonNull T flag) {
+    if (flag.getParent() instanceof ViewGroup) {
+      ((ViewGroup) flag.getParent()).removeView(flag);
+    }
+    flag.animate().cancel();
+    flag.setAlpha(1f);
+    flag.setRotation(0f);
+    flag.setTranslationX(0f);
+    flag.setTranslationY(0f);
+    flag.visible();
+    flag.setFlagMode(flagMode);
+    if (flags.size() < capacity && !flags.contains(flag)) {
+      flags.add(flag);
+    }
+  }
+
+  /**
+   * sets the {@link FlagMode} every flag of this pool starts with. Released flags are reset to it,
+   * so a mode set on an acquired flag does not leak into the next picker.
+   *
+   * @param flagMode {@link FlagMode}, {@link FlagMode#ALWAYS} by default.
+   */
+  @MainThread
+  public void setFlagMode(@NonNull FlagMode flagMode) {
+    this.flagMode = flagMode;
+    for (T flag : flags) {
+      flag.setFlagMode(flagMode);
+    }
+  }
+
+  @NonNull
+  public FlagMode getFlagMode() {
+    return flagMode;
+  }
+
+  /**
+   * gets the number of flags ready to be acquired.
+   *
+   * @return the number of pooled flags.
+   */
+  public int size() {
+    return flags.size();
+  }
+
+  private T create(View content) {
+    T flag = factory.create(context, content);
+    flag.setFlagMode(flagMode);
+    return flag;
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview.metrics;
+
+/**
+ * ColorPickerMetrics receives measurements of {@link com.skydoves.colorpickerview.ColorPickerView}
+ * and {@link com.skydoves.colorpickerview.sliders.SlideBar} hot paths.
+ *
+ * <p>Callbacks run on the main thread in the middle of touch handling and take primitives only;
+ * implementations should record and return. Nothing is measured when no metrics are set. {@link
+ * ColorPickerMetricsRecorder} is a lock-free, allocation-free implementation.
+ */
+public interface ColorPickerMetrics {
+
+  /**
+   * invoked after a touch event was mapped onto the palette and sampled.
+   *
+   * @param samplingNanos time spent mapping and sampling.
+   * @param probes the number of pixel probes made, 0 for views without a palette.
+   */
+  default void onTouchSampled(long samplingNanos, int probes) {}
+
+  /**
+   * invoked right before the listener is called for a touch event.
+   *
+   * @param latencyNanos time from the touch event's timestamp to the listener call.
+   */
+  default void onEventToListener(long latencyNanos) {}
+
+  /**
+   * invoked after the listener returned.
+   *
+   * @param durationNanos time the listener blocked the main thread.
+   */
+  default void onListenerDispatched(long durationNanos) {}
+}
@@ -0,0 +1,91 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview.metrics;
+
+/**
+ * ColorPickerMetricsRecorder records {@link ColorPickerMetrics} into counters and fixed-bucket
+ * {@link LatencyHistogram}s. Recording is lock-free and allocation-free; the histograms can be read
+ * from any thread, e.g. for periodic reporting.
+ */
+@SuppressWarnings("unused")
+public class ColorPickerMetricsRecorder implements ColorPickerMetrics {
+
+  private static final long MICROSECOND = 1_000L;
+
+  // 1us to ~8.4s.
+  private final LatencyHistogram eventToListener = LatencyHistogram.exponential(MICROSECOND, 24);
+  // 1us to ~16ms.
+  private final LatencyHistogram sampling = LatencyHistogram.exponential(MICROSECOND, 15);
+  private final LatencyHistogram listener = LatencyHistogram.exponential(MICROSECOND, 15);
+  private final LatencyHistogram probes =
+      new LatencyHistogram(new long[] {0, 1, 2, 4, 8, 16, 32, 64, 128});
+
+  @Override
+  public void onTouchSampled(long samplingNanos, int probes) {
+    this.sampling.record(samplingNanos);
+    this.probes.record(probes);
+  }
+
+  @Override
+  public void onEventToListener(long latencyNanos) {
+    eventToListener.record(latencyNanos);
+  }
+
+  @Override
+  public void onListenerDispatched(long durationNanos) {
+    listener.record(durationNanos);
+  }
+
+  /** gets latencies from touch events to listener calls in nanoseconds. */
+  public LatencyHistogram getEventToListenerLatency() {
+    return eventToListener;
+  }
+
+  /** gets palette mapping and sampling times per touch event in nanoseconds. */
+  public LatencyHistogram getSamplingTime() {
+    return sampling;
+  }
+
+  /** gets pixel probes per touch event. */
+  public LatencyHistogram getProbesPerEvent() {
+    return probes;
+  }
+
+  /** gets listener durations in nanoseconds. */
+  public LatencyHistogram getListenerDuration() {
+    return listener;
+  }
+
+  /** gets the number of sampled touch events. */
+  public long getTouchEventCount() {
+    return sampling.getCount();
+  }
+
+  /** gets the number of listener calls. */
+  public long getListenerCallCount() {
+    return listener.getCount();
+  }
+
+  /** clears all recorded values. */
+  public void reset() {
+    eventToListener.reset();
+    sampling.reset();
+    listener.reset();
+    probes.reset();
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram counts values into fixed buckets. Recording is lock-free and allocation-free, so
+ * it can run on the main thread for every touch event while another thread reads it.
+ */
+public final class LatencyHistogram {
+
+  private final long[] upperBounds;
+  private final AtomicLongArray counts;
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong sum = new AtomicLong();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * @param upperBounds inclusive upper bounds of the buckets in ascending order. Values above the
+   *     last bound are counted in an extra overflow bucket.
+   */
+  public LatencyHistogram(long[] upperBounds) {
+    this.upperBounds = upperBounds.clone();
+    this.counts = new AtomicLongArray(upperBounds.length + 1);
+  }
+
+  /**
+   * creates a histogram whose bucket bounds double from a first bound.
+   *
+   * @param firstUpperBound upper bound of the first bucket.
+   * @param buckets the number of buckets before the overflow bucket.
+   */
+  public static LatencyHistogram exponential(long firstUpperBound, int buckets) {
+    long[] bounds = new long[buckets];
+    long bound = firstUpperBound;
+    for (int i = 0; i < buckets; i++) {
+      bounds[i] = bound;
+      bound *= 2;
+    }
+    return new LatencyHistogram(bounds);
+  }
+
+  /** records a value. */
+  public void record(long value) {
+    int low = 0;
+    int high = upperBounds.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (upperBounds[mid] < value) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    counts.incrementAndGet(low);
+    count.incrementAndGet();
+    sum.addAndGet(value);
+    long currentMax = max.get();
+    while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+      currentMax = max.get();
+    }
+  }
+
+  public long getCount() {
+    return count.get();
+  }
+
+  public long getMax() {
+    return max.get();
+  }
+
+  public double getMean() {
+    long n = count.get();
+    return n == 0 ? 0 : sum.get() / (double) n;
+  }
+
+  /** gets the number of buckets including the overflow bucket. */
+  public int getBucketCount() {
+    return counts.length();
+  }
+
+  /** gets a bucket's inclusive upper bound, {@link Long#MAX_VALUE} for the overflow bucket. */
+  public long getBucketUpperBound(int bucket) {
+    return bucket < upperBounds.length ? upperBounds[bucket] : Long.MAX_VALUE;
+  }
+
+  public long getBucketValueCount(int bucket) {
+    return counts.get(bucket);
+  }
+
+  /**
+   * gets the upper bound of the bucket holding a percentile, the max for the overflow bucket.
+   *
+   * @param percentile percentile [0, 100].
+   */
+  public long getPercentile(double percentile) {
+    long total = count.get();
+    if (total == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(percentile / 100d * total);
+    long seen = 0;
+    for (int i = 0; i < counts.length(); i++) {
+      seen += counts.get(i);
+      if (seen >= rank) {
+        return i < upperBounds.length ? upperBounds[i] : max.get();
+      }
+    }
+    return max.get();
+  }
+
+  /** clears all recorded values. */
+  public void reset() {
+    for (int i = 0; i < counts.length(); i++) {
+      counts.set(i, 0);
+    }
+    count.set(0);
+    sum.set(0);
+    max.set(0);
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.sliders;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.util.AttributeSet;
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import com.skydoves.colorpickerview.CheckerboardShaderCache;
+import com.skydoves.colorpickerview.SizeUtils;
+
+/**
+ * AlphaSlideBar is a {@link SlideBar} for choosing the alpha of a color.
+ *
+ * <p>The track shows the color from transparent to opaque over a checkerboard shared by {@link
+ * CheckerboardShaderCache}.
+ */
+@SuppressWarnings("unused")
+public class AlphaSlideBar extends SlideBar {
+
+  private static final int TILE_SIZE_DP = 5;
+
+  private final Paint tilePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+  private final int[] alphaColors = new int[2];
+  @ColorInt private int color;
+
+  public AlphaSlideBar(Context context) {
+    super(context);
+    setColor(0xFFFFFFFF);
+  }
+
+  public AlphaSlideBar(Context context, AttributeSet attrs) {
+    super(context, attrs);
+    setColor(0xFFFFFFFF);
+  }
+
+  public AlphaSlideBar(Context context, AttributeSet attrs, int defStyleAttr) {
+    super(context, attrs, defStyleAttr);
+    setColor(0xFFFFFFFF);
+  }
+
+  public AlphaSlideBar(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
+    super(context, attrs, defStyleAttr, defStyleRes);
+    setColor(0xFFFFFFFF);
+  }
+
+  @Override
+  protected void onDrawTrackBackground(
+      @NonNull Canvas canvas, float left, float top, float right, float bottom, float radius) {
+    if (tilePaint.getShader() == null) {
+      tilePaint.setShader(
+          CheckerboardShaderCache.obtain(
+              getContext(),
+              SizeUtils.dp2Px(getContext(), TILE_SIZE_DP),
+              CheckerboardShaderCache.DEFAULT_ODD_COLOR,
+              CheckerboardShaderCache.DEFAULT_EVEN_COLOR));
+    }
+    canvas.drawRoundRect(left, top, right, bottom, radius, radius, tilePaint);
+  }
+
+  /**
+   * sets the color shown on the track from transparent to opaque.
+   *
+   * @param color color, its alpha is ignored.
+   */
+  public void setColor(@ColorInt int color) {
+    this.color = color;
+    alphaColors[0] = color & 0x00FFFFFF;
+    alphaColors[1] = color | 0xFF000000;
+    setBgColors(alphaColors);
+  }
+
+  /**
+   * shows the base color on the track, so the slider follows a {@link
+   * com.skydoves.colorpickerview.ColorPickerView} it is attached to.
+   *
+   * @param color the base color, its alpha is ignored.
+   */
+  @Override
+  public void setBaseColor(@ColorInt int color) {
+    super.setBaseColor(color);
+    if (((color ^ this.color) & 0x00FFFFFF) != 0) {
+      setColor(color);
+    }
+  }
+
+  /**
+   * gets the track color with the alpha of the selector position applied.
+   *
+   * @return color.
+   */
+  public @ColorInt int getAlphaColor() {
+    int alpha = Math.round(getSelectorPosition() * 255);
+    return (alpha << 24) | (color & 0x00FFFFFF);
+  }
+}
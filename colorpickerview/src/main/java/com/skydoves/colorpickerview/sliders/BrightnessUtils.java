@@ -1,18 +1,24 @@
 package com.skydoves.colorpickerview.sliders;
 
-import android.graphics.Color;
-
 import androidx.annotation.ColorInt;
 
+import com.skydoves.colorpickerview.ColorUtils;
+
+/**
+ * @deprecated allocates the gradient colors on every call. Use a {@link SlideBar} in
+ * {@link SlideBarMode#BRIGHTNESS} mode, whose track shaders are cached, and attach it with
+ * {@link com.skydoves.colorpickerview.ColorPickerView#attachSlideBar(SlideBar)}.
+ */
+@Deprecated
 public class BrightnessUtils {
 
+	/** @deprecated see {@link BrightnessUtils}. */
+	@Deprecated
 	public static int[] colorsForBrightnessGradient(@ColorInt int color) {
 		float[] hsv = new float[3];
-		Color.colorToHSV(color, hsv);
-		hsv[2] = 0;
-		int startColor = Color.HSVToColor(hsv);
-		hsv[2] = 1;
-		int endColor = Color.HSVToColor(hsv);
+		ColorUtils.colorToHsv(color, hsv);
+		int startColor = ColorUtils.hsvToColor(hsv[0], hsv[1], 0f);
+		int endColor = ColorUtils.hsvToColor(hsv[0], hsv[1], 1f);
 		return new int[]{startColor, endColor};
 	}
 
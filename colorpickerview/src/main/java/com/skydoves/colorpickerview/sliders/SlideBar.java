@@ -29,13 +29,16 @@ import androidx.appcompat.content.res.AppCompatResources;
 import androidx.core.content.res.ResourcesCompat;
 import androidx.core.view.ViewKt;
 
+import com.skydoves.colorpickerview.ColorPickerTrace;
+import com.skydoves.colorpickerview.ColorUtils;
 import com.skydoves.colorpickerview.R;
 import com.skydoves.colorpickerview.SizeUtils;
+import com.skydoves.colorpickerview.metrics.ColorPickerMetrics;
 
 import java.util.ArrayList;
 import java.util.List;
 
-public final class SlideBar extends FrameLayout {
+public class SlideBar extends FrameLayout {
     public interface Listener {
         default void onUserStartedDragging() {
         }
@@ -64,6 +67,10 @@ public final class SlideBar extends FrameLayout {
     private int[] bgColors;
     private boolean bgDirty;
 
+    private SlideBarMode mode = SlideBarMode.CUSTOM;
+    private final float[] baseHsv = {0f, 1f, 1f};
+    private final float[] scratchHsv = new float[3];
+
     private int trackColor;
     private int trackProgressColor;
 
@@ -77,6 +84,7 @@ public final class SlideBar extends FrameLayout {
     private final Rect systemGestureExclusionRect = new Rect(0, 0, 0, 0);
 
     private Listener listener;
+    private ColorPickerMetrics metrics;
 
     public SlideBar(Context context) {
         super(context);
@@ -120,6 +128,7 @@ public final class SlideBar extends FrameLayout {
                 int insetLeft = a.getDimensionPixelSize(R.styleable.SlideBar_bgInsetLeft, defaultInsetLeft);
                 int insetRight = a.getDimensionPixelSize(R.styleable.SlideBar_bgInsetRight, defaultInsetRight);
                 insets = new Rect(insetLeft, insetTop, insetRight, insetBottom);
+                mode = SlideBarMode.values()[a.getInt(R.styleable.SlideBar_slideBarMode, SlideBarMode.CUSTOM.ordinal())];
             } finally {
                 a.recycle();
             }
@@ -162,6 +171,15 @@ public final class SlideBar extends FrameLayout {
             return;
         }
 
+        boolean traced = ColorPickerTrace.begin(ColorPickerTrace.SECTION_SLIDE_BAR_DRAW);
+        try {
+            drawTrack(canvas);
+        } finally {
+            ColorPickerTrace.end(traced);
+        }
+    }
+
+    private void drawTrack(Canvas canvas) {
         float width = getWidth();
         float height = getHeight();
 
@@ -170,8 +188,11 @@ public final class SlideBar extends FrameLayout {
         float right = width - insets.right;
         float bottom = height - insets.bottom;
 
-        if (bgColors != null) {
-            if (bgDirty) {
+        if (mode != SlideBarMode.CUSTOM || bgColors != null) {
+            if (mode != SlideBarMode.CUSTOM) {
+                int halfSelector = getSelectorSize() / 2;
+                colorPaint.setShader(SliderGradientCache.get(mode, baseHsv, halfSelector, getWidth() - halfSelector));
+            } else if (bgDirty) {
                 Shader shader = new LinearGradient(0, 0, getWidth(), getHeight(), bgColors, null, Shader.TileMode.CLAMP);
                 colorPaint.setShader(shader);
                 bgDirty = false;
@@ -179,9 +200,11 @@ public final class SlideBar extends FrameLayout {
 
             if (roundCorners) {
                 float radius = (bottom - top) / 2f;
+                onDrawTrackBackground(canvas, left, top, right, bottom, radius);
                 canvas.drawRoundRect(left, top, right, bottom, radius, radius, colorPaint);
                 canvas.drawRoundRect(left, top, right, bottom, radius, radius, borderPaint);
             } else {
+                onDrawTrackBackground(canvas, left, top, right, bottom, 0f);
                 canvas.drawRect(left, top, right, bottom, colorPaint);
                 canvas.drawRect(left, top, right, bottom, borderPaint);
             }
@@ -232,6 +255,19 @@ public final class SlideBar extends FrameLayout {
         }
     }
 
+    /**
+     * draws below the background colors of the track, e.g. a checkerboard for translucent colors.
+     *
+     * @param canvas canvas.
+     * @param left   left of the track.
+     * @param top    top of the track.
+     * @param right  right of the track.
+     * @param bottom bottom of the track.
+     * @param radius corner radius of the track, 0 when corners are not rounded.
+     */
+    protected void onDrawTrackBackground(@NonNull Canvas canvas, float left, float top, float right, float bottom, float radius) {
+    }
+
     @Override
     protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
         super.onLayout(changed, left, top, right, bottom);
@@ -244,19 +280,112 @@ public final class SlideBar extends FrameLayout {
     }
 
     public void setBgColors(int[] colors) {
+        mode = SlideBarMode.CUSTOM;
         bgColors = colors;
         bgDirty = true;
         invalidate();
     }
 
     public void setBgColorsWithTrackProgress(@ColorInt int trackProgressColor, @ColorInt int trackColor) {
+        mode = SlideBarMode.CUSTOM;
         bgColors = null;
         bgDirty = true;
+        colorPaint.setShader(null);
         this.trackColor = trackColor;
         this.trackProgressColor = trackProgressColor;
         invalidate();
     }
 
+    /**
+     * sets a built-in mode of the track. {@link SlideBarMode#CUSTOM} restores the track progress colors
+     * until {@link #setBgColors} is called.
+     *
+     * @param mode {@link SlideBarMode}.
+     */
+    public void setMode(@NonNull SlideBarMode mode) {
+        this.mode = mode;
+        if (mode == SlideBarMode.CUSTOM) {
+            colorPaint.setShader(null);
+            bgDirty = true;
+        }
+        invalidate();
+    }
+
+    @NonNull
+    public SlideBarMode getMode() {
+        return mode;
+    }
+
+    /**
+     * sets the color the {@link SlideBarMode#SATURATION} and {@link SlideBarMode#BRIGHTNESS} tracks
+     * are built from. Call this whenever the picker's color changes; it does not allocate.
+     *
+     * @param color the base color.
+     */
+    public void setBaseColor(@ColorInt int color) {
+        ColorUtils.colorToHsv(color, scratchHsv);
+        boolean changed = scratchHsv[0] != baseHsv[0] || scratchHsv[1] != baseHsv[1] || scratchHsv[2] != baseHsv[2];
+        System.arraycopy(scratchHsv, 0, baseHsv, 0, 3);
+        if (changed && mode != SlideBarMode.CUSTOM && mode != SlideBarMode.HUE) {
+            invalidate();
+        }
+    }
+
+    /**
+     * maps a selector position to a color by replacing the mode's HSV component of the base color.
+     *
+     * @param value selector position.
+     * @return color, or the base color in {@link SlideBarMode#CUSTOM} mode.
+     */
+    @ColorInt
+    public int getColorForValue(@FloatRange(from = 0f, to = 1f) float value) {
+        switch (mode) {
+            case HUE:
+                return ColorUtils.hsvToColor(value * 360f, baseHsv[1], baseHsv[2]);
+            case SATURATION:
+                return ColorUtils.hsvToColor(baseHsv[0], value, baseHsv[2]);
+            case BRIGHTNESS:
+                return ColorUtils.hsvToColor(baseHsv[0], baseHsv[1], value);
+            default:
+                return ColorUtils.hsvToColor(baseHsv[0], baseHsv[1], baseHsv[2]);
+        }
+    }
+
+    /**
+     * maps a color to the selector position of the mode's HSV component.
+     *
+     * @param color color.
+     * @return selector position, or the current position in {@link SlideBarMode#CUSTOM} mode.
+     */
+    @FloatRange(from = 0f, to = 1f)
+    public float getValueForColor(@ColorInt int color) {
+        ColorUtils.colorToHsv(color, scratchHsv);
+        switch (mode) {
+            case HUE:
+                return scratchHsv[0] / 360f;
+            case SATURATION:
+                return scratchHsv[1];
+            case BRIGHTNESS:
+                return scratchHsv[2];
+            default:
+                return selectorPositionIn01;
+        }
+    }
+
+    /**
+     * gets the color of the current selector position, see {@link #getColorForValue}.
+     *
+     * @return color.
+     */
+    @ColorInt
+    public int getSelectedColor() {
+        return getColorForValue(selectorPositionIn01);
+    }
+
+    private boolean isTrackProgress() {
+        return mode == SlideBarMode.CUSTOM && bgColors == null;
+    }
+
     @SuppressLint("ClickableViewAccessibility")
     @Override
     public boolean onTouchEvent(MotionEvent event) {
@@ -286,7 +415,16 @@ public final class SlideBar extends FrameLayout {
             touchDownSelectorPositionIn01 = selectorPositionIn01;
 
         } else if (action == MotionEvent.ACTION_MOVE) {
-            updateValue(x);
+            ColorPickerMetrics metrics = this.metrics;
+            if (metrics != null) {
+                long now = System.nanoTime();
+                // MotionEvent times are uptimeMillis, which shares CLOCK_MONOTONIC with System.nanoTime.
+                metrics.onEventToListener(now - e.getEventTime() * 1_000_000L);
+                updateValue(x);
+                metrics.onTouchSampled(System.nanoTime() - now, 0);
+            } else {
+                updateValue(x);
+            }
 
         } else if (action == MotionEvent.ACTION_UP) {
             if (listener != null) {
@@ -305,7 +443,7 @@ public final class SlideBar extends FrameLayout {
 
         float selectorX = w * selectorPositionIn01;
         selector.setX(selectorX);
-        if (bgColors == null) {
+        if (isTrackProgress()) {
             invalidate();
         }
         fireListener(selectorPositionIn01, true);
@@ -319,7 +457,7 @@ public final class SlideBar extends FrameLayout {
         this.selectorPositionIn01 = Math.min(Math.max(selectorPosition, 0f), 1f);
         ViewKt.doOnLayout(this, view -> {
             selector.setX(getAvailableWidth() * this.selectorPositionIn01);
-            if (bgColors == null) {
+            if (isTrackProgress()) {
                 invalidate();
             }
             return null;
@@ -389,10 +527,39 @@ public final class SlideBar extends FrameLayout {
 
     private void fireListener(@FloatRange(from = 0f, to = 1f) float selectorPosition, boolean fromUser) {
         if (listener != null) {
+            boolean traced = ColorPickerTrace.begin(ColorPickerTrace.SECTION_SLIDE_BAR_DISPATCH);
+            try {
+                dispatchValue(selectorPosition, fromUser);
+            } finally {
+                ColorPickerTrace.end(traced);
+            }
+        }
+    }
+
+    private void dispatchValue(float selectorPosition, boolean fromUser) {
+        if (metrics != null) {
+            long start = System.nanoTime();
+            listener.onValueChanged(selectorPosition, fromUser);
+            metrics.onListenerDispatched(System.nanoTime() - start);
+        } else {
             listener.onValueChanged(selectorPosition, fromUser);
         }
     }
 
+    /**
+     * sets a {@link ColorPickerMetrics} receiving touch and listener measurements.
+     *
+     * @param metrics {@link ColorPickerMetrics}, or null for measuring nothing.
+     */
+    public void setMetrics(@Nullable ColorPickerMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Nullable
+    public ColorPickerMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * gets selector's position ratio.
      *
@@ -0,0 +1,33 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview.sliders;
+
+/** SlideBarMode decides what the {@link SlideBar}'s track shows and what its value means. */
+public enum SlideBarMode {
+  /** shows colors set by {@link SlideBar#setBgColors} or the track progress colors. */
+  CUSTOM,
+
+  /** shows all hues, the value is a hue in [0, 360) scaled into [0, 1]. */
+  HUE,
+
+  /** shows the saturation range of the base color. */
+  SATURATION,
+
+  /** shows the brightness (HSV value) range of the base color. */
+  BRIGHTNESS
+}
@@ -0,0 +1,105 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview.sliders;
+
+import android.graphics.Color;
+import android.graphics.LinearGradient;
+import android.graphics.Shader;
+import androidx.annotation.MainThread;
+import com.skydoves.colorpickerview.ColorUtils;
+import java.util.Arrays;
+
+/**
+ * SliderGradientCache shares the track shaders of the built-in {@link SlideBarMode}s.
+ *
+ * <p>Entries are keyed by mode, quantized hue, quantized saturation or value and the gradient's
+ * horizontal extent, and live in a small direct-mapped table, so a lookup that hits allocates
+ * nothing. Moving the picker across a slider's base color mostly hits.
+ */
+final class SliderGradientCache {
+
+  private static final int SLOTS = 64;
+  private static final int COMPONENT_STEPS = 100;
+
+  private static final int[] HUE_COLORS = {
+    Color.RED, Color.YELLOW, Color.GREEN, Color.CYAN, Color.BLUE, Color.MAGENTA, Color.RED
+  };
+
+  private static final long[] keys = new long[SLOTS];
+  private static final Shader[] shaders = new Shader[SLOTS];
+
+  static {
+    Arrays.fill(keys, -1L);
+  }
+
+  private SliderGradientCache() {}
+
+  /**
+   * gets a horizontal track shader for the given mode and base color.
+   *
+   * @param mode a built-in mode, not {@link SlideBarMode#CUSTOM}.
+   * @param hsv the base color's hue, saturation and value.
+   * @param startX x coordinate where the gradient starts.
+   * @param endX x coordinate where the gradient ends.
+   * @return a shared shader.
+   */
+  @MainThread
+  static Shader get(SlideBarMode mode, float[] hsv, int startX, int endX) {
+    int hue = 0;
+    int component = 0;
+    if (mode == SlideBarMode.SATURATION) {
+      hue = Math.round(hsv[0]) % 360;
+      component = Math.round(hsv[2] * COMPONENT_STEPS);
+    } else if (mode == SlideBarMode.BRIGHTNESS) {
+      hue = Math.round(hsv[0]) % 360;
+      component = Math.round(hsv[1] * COMPONENT_STEPS);
+    }
+    long key =
+        ((long) mode.ordinal() << 50)
+            | ((long) hue << 41)
+            | ((long) component << 34)
+            | ((long) (startX & 0xFFFF) << 16)
+            | (endX & 0xFFFF);
+    int slot = (int) ((key ^ (key >>> 29) ^ (key >>> 41)) & (SLOTS - 1));
+    if (keys[slot] == key) {
+      return shaders[slot];
+    }
+    Shader shader =
+        new LinearGradient(
+            startX, 0, endX, 0, colorsOf(mode, hue, component), null, Shader.TileMode.CLAMP);
+    keys[slot] = key;
+    shaders[slot] = shader;
+    return shader;
+  }
+
+  private static int[] colorsOf(SlideBarMode mode, int hue, int component) {
+    float quantized = component / (float) COMPONENT_STEPS;
+    switch (mode) {
+      case SATURATION:
+        return new int[] {
+          ColorUtils.hsvToColor(hue, 0f, quantized), ColorUtils.hsvToColor(hue, 1f, quantized)
+        };
+      case BRIGHTNESS:
+        return new int[] {
+          ColorUtils.hsvToColor(hue, quantized, 0f), ColorUtils.hsvToColor(hue, quantized, 1f)
+        };
+      default:
+        return HUE_COLORS;
+    }
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.app.Activity;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.util.AttributeSet;
+import android.widget.ImageView;
+import com.skydoves.colorpickerview.listeners.ColorListener;
+import com.skydoves.colorpickerview.testing.FirstFrameHarness;
+import com.skydoves.colorpickerview.testing.ReplayResult;
+import com.skydoves.colorpickerview.testing.ViewLayouts;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 30)
+public class ColdInflationTest {
+
+  private static final int SIZE = 600;
+  private static final int ITERATIONS = 200;
+  /** a size no other test pools a wheel of, so its raster is rasterized anew. */
+  private static final int UNPOOLED_SIZE = 601;
+
+  private Activity activity;
+
+  @Before
+  public void setUp() {
+    activity = Robolectric.buildActivity(Activity.class).setup().get();
+  }
+
+  @Test
+  public void inflatesHsvPaletteToFirstFrame() {
+    AttributeSet attrs = Robolectric.buildAttributeSet().build();
+    ReplayResult result =
+        FirstFrameHarness.measure(
+            () -> new ColorPickerView(activity, attrs), SIZE, SIZE, ITERATIONS);
+
+    assertEquals(ITERATIONS, result.getEventCount());
+    assertTrue(result.getPercentileNanos(50) > 0);
+  }
+
+  @Test
+  public void inflatesBitmapPaletteToFirstFrame() {
+    ReplayResult result =
+        FirstFrameHarness.measure(
+            () -> new ColorPickerView(activity, bitmapPaletteAttrs()), SIZE, SIZE, ITERATIONS);
+
+    assertEquals(ITERATIONS, result.getEventCount());
+    assertTrue(result.getPercentileNanos(50) > 0);
+  }
+
+  @Test
+  public void inflationLoadsNoPaletteUntilFirstMeasure() {
+    ColorPickerView picker = new ColorPickerView(activity, bitmapPaletteAttrs());
+
+    assertEquals(0, picker.getChildCount());
+    assertTrue(picker.isPaletteResourcePending());
+
+    ViewLayouts.layout(picker, SIZE, SIZE);
+
+    assertEquals(2, picker.getChildCount());
+    assertFalse(picker.isPaletteResourcePending());
+    assertTrue(paletteDrawableOf(picker) instanceof BitmapDrawable);
+  }
+
+  @Test
+  public void firstFrameDrawsGradientWheelWhileRasterizing() {
+    ColorPickerView picker = new ColorPickerView(activity);
+    ViewLayouts.layout(picker, UNPOOLED_SIZE, UNPOOLED_SIZE);
+    picker.draw(
+        new Canvas(Bitmap.createBitmap(UNPOOLED_SIZE, UNPOOLED_SIZE, Bitmap.Config.ARGB_8888)));
+
+    // the pooled raster is published through the main looper, which has not run yet.
+    Drawable drawable = paletteDrawableOf(picker);
+    assertTrue(drawable instanceof ColorHsvPalette);
+    assertNull(((ColorHsvPalette) drawable).getWheel());
+  }
+
+  @Test
+  public void selectsInitialColorInSinglePass() {
+    AttributeSet attrs =
+        Robolectric.buildAttributeSet().addAttribute(R.attr.initialColor, "#ff0000").build();
+    ColorPickerView picker = new ColorPickerView(activity, attrs);
+    int[] invocations = new int[1];
+    picker.setColorListener(
+        new ColorListener() {
+          @Override
+          public void onColorSelected(int color, boolean fromUser) {
+            invocations[0]++;
+          }
+        });
+    ViewLayouts.layout(picker, SIZE, SIZE);
+
+    assertEquals(1, invocations[0]);
+    assertEquals(Color.RED, picker.getColor());
+  }
+
+  @Test
+  public void createsChildrenWithoutAttributes() {
+    ColorPickerView picker = new ColorPickerView(activity);
+    assertEquals(0, picker.getChildCount());
+    ViewLayouts.layout(picker, SIZE, SIZE);
+
+    assertEquals(2, picker.getChildCount());
+    assertNotNull(picker.getSelectedPoint());
+    assertEquals(SIZE / 2, picker.getSelectedPoint().x);
+  }
+
+  private static AttributeSet bitmapPaletteAttrs() {
+    return Robolectric.buildAttributeSet().addAttribute(R.attr.palette, "@drawable/wheel").build();
+  }
+
+  private static Drawable paletteDrawableOf(ColorPickerView picker) {
+    return ((ImageView) picker.getChildAt(0)).getDrawable();
+  }
+}
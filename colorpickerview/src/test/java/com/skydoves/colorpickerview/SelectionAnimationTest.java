@@ -0,0 +1,79 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.app.Activity;
+import android.graphics.Color;
+import android.os.Looper;
+import com.skydoves.colorpickerview.listeners.ColorListener;
+import com.skydoves.colorpickerview.testing.ViewLayouts;
+import java.time.Duration;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 30)
+public class SelectionAnimationTest {
+
+  private static final int SIZE = 600;
+
+  private ColorPickerView picker;
+  private final int[] invocations = new int[1];
+
+  @Before
+  public void setUp() {
+    Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+    picker = new ColorPickerView(activity, Robolectric.buildAttributeSet().build());
+    ViewLayouts.layout(picker, SIZE, SIZE);
+    picker.setColorListener(
+        new ColorListener() {
+          @Override
+          public void onColorSelected(int color, boolean fromUser) {
+            invocations[0]++;
+          }
+        });
+  }
+
+  @Test
+  public void deliversEveryFrameAndEndsOnColor() throws IllegalAccessException {
+    picker.animateToColor(Color.BLUE);
+    shadowOf(Looper.getMainLooper()).idleFor(Duration.ofSeconds(1));
+
+    assertTrue(invocations[0] > 2);
+    assertEquals(Color.BLUE, picker.getColor());
+  }
+
+  @Test
+  public void deliversOnlyAtEnd() throws IllegalAccessException {
+    picker.setAnimationDelivery(AnimationDelivery.END);
+    picker.animateToColor(Color.RED);
+    picker.animateToColor(Color.GREEN);
+    shadowOf(Looper.getMainLooper()).idleFor(Duration.ofSeconds(1));
+
+    assertEquals(1, invocations[0]);
+    assertEquals(Color.GREEN, picker.getColor());
+  }
+}
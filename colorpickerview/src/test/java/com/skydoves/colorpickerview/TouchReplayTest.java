@@ -0,0 +1,111 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.app.Activity;
+import android.util.AttributeSet;
+import com.skydoves.colorpickerview.sliders.SlideBar;
+import com.skydoves.colorpickerview.testing.ReplayResult;
+import com.skydoves.colorpickerview.testing.TouchReplayHarness;
+import com.skydoves.colorpickerview.testing.TouchStream;
+import com.skydoves.colorpickerview.testing.ViewLayouts;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 30)
+public class TouchReplayTest {
+
+  private static final int SIZE = 1000;
+  private static final long DRAG_MILLIS = 10_000;
+  private static final int RATE_HZ = 240;
+  // the drag paths reuse their state, so this only leaves room for Robolectric's shadows.
+  private static final double BYTES_PER_EVENT_BUDGET = 256;
+
+  private Activity activity;
+
+  @Before
+  public void setUp() {
+    activity = Robolectric.buildActivity(Activity.class).setup().get();
+  }
+
+  @Test
+  public void replaysDragAcrossBitmapPalette() {
+    AttributeSet attrs =
+        Robolectric.buildAttributeSet().addAttribute(R.attr.palette, "@drawable/wheel").build();
+    ColorPickerView picker = new ColorPickerView(activity, attrs);
+    ViewLayouts.layout(picker, SIZE, SIZE);
+
+    TouchStream stream =
+        TouchStream.spiral(SIZE / 2f, SIZE / 2f, SIZE / 2f, 20, DRAG_MILLIS, RATE_HZ);
+    TouchReplayHarness.replay(picker, stream);
+    ReplayResult result = TouchReplayHarness.replay(picker, stream);
+
+    assertEquals(stream.size(), result.getEventCount());
+    assertEquals(stream.size(), result.getListenerInvocations());
+    assertWithinAllocationBudget(result);
+  }
+
+  @Test
+  public void replaysDragAcrossHsvPalette() {
+    ColorPickerView picker =
+        new ColorPickerView(activity, Robolectric.buildAttributeSet().build());
+    ViewLayouts.layout(picker, SIZE, SIZE);
+
+    TouchStream stream =
+        TouchStream.spiral(SIZE / 2f, SIZE / 2f, SIZE / 2f, 20, DRAG_MILLIS, RATE_HZ);
+    TouchReplayHarness.replay(picker, stream);
+    ReplayResult result = TouchReplayHarness.replay(picker, stream);
+
+    assertEquals(stream.size(), result.getListenerInvocations());
+    assertWithinAllocationBudget(result);
+  }
+
+  @Test
+  public void replaysDragAcrossSlideBar() {
+    SlideBar slideBar = new SlideBar(activity);
+    ViewLayouts.layout(slideBar, SIZE, 100);
+
+    TouchStream stream = TouchStream.drag(0, 50, SIZE, 50, DRAG_MILLIS, RATE_HZ);
+    TouchReplayHarness.replay(slideBar, stream);
+    ReplayResult result = TouchReplayHarness.replay(slideBar, stream);
+
+    // only moves change the value.
+    assertEquals(stream.size() - 2, result.getListenerInvocations());
+    assertTrue(slideBar.getSelectorPosition() > 0.99f);
+    assertWithinAllocationBudget(result);
+  }
+
+  /** the first replay is a warm-up, so class loading and lazy caches are not counted. */
+  private static void assertWithinAllocationBudget(ReplayResult result) {
+    if (result.getAllocatedBytes() < 0) {
+      return;
+    }
+    double perEvent = result.getAllocatedBytesPerEvent();
+    assertTrue(
+        "allocated " + perEvent + " bytes per event, budget is " + BYTES_PER_EVENT_BUDGET,
+        perEvent <= BYTES_PER_EVENT_BUDGET);
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview.testing;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.view.View;
+import java.util.function.Supplier;
+
+/**
+ * FirstFrameHarness measures the cold inflation of a view under Robolectric: constructing it,
+ * then the first measure, layout and draw, as a window would for its first frame.
+ *
+ * <p>As with {@link TouchReplayHarness}, absolute numbers differ from a device; compare revisions
+ * of the construction and first layout paths with them. Every "event" of the result is one
+ * inflation, and listener calls are not counted.
+ */
+public final class FirstFrameHarness {
+
+  private FirstFrameHarness() {}
+
+  /**
+   * inflates views and draws their first frame.
+   *
+   * @param inflater creates a new view on every call, e.g. by a constructor with attributes.
+   * @param iterations number of inflations measured, after as many warm-up inflations.
+   */
+  public static ReplayResult measure(
+      Supplier<? extends View> inflater, int width, int height, int iterations) {
+    Canvas canvas = new Canvas(Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888));
+    for (int i = 0; i < iterations; i++) {
+      firstFrame(inflater.get(), canvas, width, height);
+    }
+    long[] inflationNanos = new long[iterations];
+    for (int i = 0; i < iterations; i++) {
+      long start = System.nanoTime();
+      firstFrame(inflater.get(), canvas, width, height);
+      inflationNanos[i] = System.nanoTime() - start;
+    }
+    return new ReplayResult(inflationNanos, -1, 0);
+  }
+
+  private static void firstFrame(View view, Canvas canvas, int width, int height) {
+    ViewLayouts.layout(view, width, height);
+    view.draw(canvas);
+  }
+}
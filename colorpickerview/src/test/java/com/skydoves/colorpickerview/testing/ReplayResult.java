@@ -0,0 +1,93 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview.testing;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/** ReplayResult holds the measurements of a {@link TouchReplayHarness} replay. */
+public final class ReplayResult {
+
+  private final long[] eventNanos;
+  private final long allocatedBytes;
+  private final int listenerInvocations;
+
+  ReplayResult(long[] eventNanos, long allocatedBytes, int listenerInvocations) {
+    this.eventNanos = eventNanos.clone();
+    Arrays.sort(this.eventNanos);
+    this.allocatedBytes = allocatedBytes;
+    this.listenerInvocations = listenerInvocations;
+  }
+
+  public int getEventCount() {
+    return eventNanos.length;
+  }
+
+  public long getTotalNanos() {
+    long total = 0;
+    for (long nanos : eventNanos) {
+      total += nanos;
+    }
+    return total;
+  }
+
+  public double getMeanNanosPerEvent() {
+    return eventNanos.length == 0 ? 0 : getTotalNanos() / (double) eventNanos.length;
+  }
+
+  /**
+   * gets a percentile of the wall time per event.
+   *
+   * @param percentile percentile [0, 100].
+   */
+  public long getPercentileNanos(double percentile) {
+    if (eventNanos.length == 0) {
+      return 0;
+    }
+    int index = (int) Math.ceil(percentile / 100d * eventNanos.length) - 1;
+    return eventNanos[Math.max(0, Math.min(index, eventNanos.length - 1))];
+  }
+
+  /** gets the bytes allocated by the dispatch calls, or -1 if the JVM cannot measure them. */
+  public long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  public double getAllocatedBytesPerEvent() {
+    return allocatedBytes < 0 || eventNanos.length == 0
+        ? -1
+        : allocatedBytes / (double) eventNanos.length;
+  }
+
+  public int getListenerInvocations() {
+    return listenerInvocations;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        Locale.US,
+        "%d events, mean %.0f ns, p50 %d ns, p99 %d ns, %.1f B/event, %d listener calls",
+        getEventCount(),
+        getMeanNanosPerEvent(),
+        getPercentileNanos(50),
+        getPercentileNanos(99),
+        getAllocatedBytesPerEvent(),
+        listenerInvocations);
+  }
+}
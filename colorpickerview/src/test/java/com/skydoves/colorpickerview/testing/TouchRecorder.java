@@ -0,0 +1,54 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview.testing;
+
+import android.annotation.SuppressLint;
+import android.view.MotionEvent;
+import android.view.View;
+
+/**
+ * TouchRecorder records the touch events a view receives into a {@link TouchStream} without
+ * consuming them.
+ */
+public final class TouchRecorder implements View.OnTouchListener {
+
+  private final TouchStream stream = new TouchStream();
+  private long downTime = -1;
+
+  /** starts recording the touch events of a view. */
+  public static TouchRecorder attach(View view) {
+    TouchRecorder recorder = new TouchRecorder();
+    view.setOnTouchListener(recorder);
+    return recorder;
+  }
+
+  @SuppressLint("ClickableViewAccessibility")
+  @Override
+  public boolean onTouch(View view, MotionEvent event) {
+    if (downTime < 0) {
+      downTime = event.getEventTime();
+    }
+    stream.add(
+        event.getActionMasked(), event.getEventTime() - downTime, event.getX(), event.getY());
+    return false;
+  }
+
+  public TouchStream getStream() {
+    return stream;
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview.testing;
+
+import android.view.MotionEvent;
+import android.view.View;
+import com.skydoves.colorpickerview.ColorPickerView;
+import com.skydoves.colorpickerview.listeners.ColorListener;
+import com.skydoves.colorpickerview.sliders.SlideBar;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * TouchReplayHarness replays a {@link TouchStream} against {@link ColorPickerView} or {@link
+ * SlideBar} under Robolectric and measures the wall time and allocations of every dispatch, and how
+ * often the listener is invoked.
+ *
+ * <p>Robolectric runs the framework on the JVM with its own shadows, so absolute numbers differ
+ * from a device. Use the results to compare revisions of the hot paths such as {@code
+ * onTouchReceived} and {@code updateValue}.
+ */
+public final class TouchReplayHarness {
+
+  private TouchReplayHarness() {}
+
+  /** replays a stream against a laid out picker, counting {@link ColorListener} invocations. */
+  public static ReplayResult replay(ColorPickerView picker, TouchStream stream) {
+    ColorListener original = picker.colorListener;
+    int[] invocations = new int[1];
+    picker.setColorListener(
+        new ColorListener() {
+          @Override
+          public void onUserStartedDragging() {
+            if (original != null) {
+              original.onUserStartedDragging();
+            }
+          }
+
+          @Override
+          public void onUserStoppedDragging() {
+            if (original != null) {
+              original.onUserStoppedDragging();
+            }
+          }
+
+          @Override
+          public void onColorSelected(int color, boolean fromUser) {
+            invocations[0]++;
+            if (original != null) {
+              original.onColorSelected(color, fromUser);
+            }
+          }
+        });
+    try {
+      return replay(picker, stream, invocations);
+    } finally {
+      picker.setColorListener(original);
+    }
+  }
+
+  /** replays a stream against a laid out slider, counting {@link SlideBar.Listener} invocations. */
+  public static ReplayResult replay(SlideBar slideBar, TouchStream stream) {
+    SlideBar.Listener original = slideBar.getListener();
+    int[] invocations = new int[1];
+    slideBar.setListener(
+        new SlideBar.Listener() {
+          @Override
+          public void onUserStartedDragging() {
+            if (original != null) {
+              original.onUserStartedDragging();
+            }
+          }
+
+          @Override
+          public void onUserStoppedDragging() {
+            if (original != null) {
+              original.onUserStoppedDragging();
+            }
+          }
+
+          @Override
+          public void onValueChanged(float value, boolean fromUser) {
+            invocations[0]++;
+            if (original != null) {
+              original.onValueChanged(value, fromUser);
+            }
+          }
+        });
+    try {
+      return replay(slideBar, stream, invocations);
+    } finally {
+      slideBar.setListener(original);
+    }
+  }
+
+  private static ReplayResult replay(View view, TouchStream stream, int[] invocations) {
+    long[] eventNanos = new long[stream.size()];
+    long allocatedBytes = 0;
+    long downTime = System.currentTimeMillis();
+    for (int i = 0; i < stream.size(); i++) {
+      MotionEvent event = stream.obtain(i, downTime);
+      long allocatedBefore = allocatedBytes();
+      long start = System.nanoTime();
+      view.dispatchTouchEvent(event);
+      eventNanos[i] = System.nanoTime() - start;
+      long allocatedAfter = allocatedBytes();
+      if (allocatedBefore < 0 || allocatedAfter < 0) {
+        allocatedBytes = -1;
+      } else if (allocatedBytes >= 0) {
+        allocatedBytes += allocatedAfter - allocatedBefore;
+      }
+      event.recycle();
+    }
+    return new ReplayResult(eventNanos, allocatedBytes, invocations[0]);
+  }
+
+  private static long allocatedBytes() {
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean) {
+      return ((com.sun.management.ThreadMXBean) bean)
+          .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    return -1;
+  }
+}
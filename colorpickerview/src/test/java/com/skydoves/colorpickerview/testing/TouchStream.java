@@ -0,0 +1,110 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+ 
+
+package com.skydoves.colorpickerview.testing;
+
+import android.view.MotionEvent;
+import java.util.Arrays;
+
+/**
+ * TouchStream is a recorded or generated sequence of single pointer touch events, stored in
+ * primitive arrays so replaying it does not allocate besides the {@link MotionEvent}s.
+ */
+public final class TouchStream {
+
+  private int[] actions = new int[64];
+  private long[] eventTimes = new long[64];
+  private float[] xs = new float[64];
+  private float[] ys = new float[64];
+  private int size;
+
+  /**
+   * generates a straight drag: a down, evenly spaced moves and an up.
+   *
+   * @param durationMillis duration of the drag.
+   * @param rateHz the touch sampling rate, e.g. 240 for a 240 Hz touch panel.
+   */
+  public static TouchStream drag(
+      float fromX, float fromY, float toX, float toY, long durationMillis, int rateHz) {
+    TouchStream stream = new TouchStream();
+    int moves = Math.max(1, (int) (durationMillis * rateHz / 1000));
+    stream.add(MotionEvent.ACTION_DOWN, 0, fromX, fromY);
+    for (int i = 1; i <= moves; i++) {
+      float fraction = i / (float) moves;
+      stream.add(
+          MotionEvent.ACTION_MOVE,
+          i * 1000L / rateHz,
+          fromX + (toX - fromX) * fraction,
+          fromY + (toY - fromY) * fraction);
+    }
+    stream.add(MotionEvent.ACTION_UP, (moves + 1) * 1000L / rateHz, toX, toY);
+    return stream;
+  }
+
+  /**
+   * generates a drag along a spiral from the center outwards and past the radius, which crosses
+   * every hue and saturation of a wheel palette and leaves the palette near the end.
+   *
+   * @param turns the number of turns around the center.
+   * @param durationMillis duration of the drag.
+   * @param rateHz the touch sampling rate.
+   */
+  public static TouchStream spiral(
+      float centerX, float centerY, float radius, int turns, long durationMillis, int rateHz) {
+    TouchStream stream = new TouchStream();
+    int moves = Math.max(1, (int) (durationMillis * rateHz / 1000));
+    stream.add(MotionEvent.ACTION_DOWN, 0, centerX, centerY);
+    float x = centerX;
+    float y = centerY;
+    for (int i = 1; i <= moves; i++) {
+      float fraction = i / (float) moves;
+      double angle = fraction * turns * 2 * Math.PI;
+      float r = radius * 1.2f * fraction;
+      x = centerX + (float) (r * Math.cos(angle));
+      y = centerY + (float) (r * Math.sin(angle));
+      stream.add(MotionEvent.ACTION_MOVE, i * 1000L / rateHz, x, y);
+    }
+    stream.add(MotionEvent.ACTION_UP, (moves + 1) * 1000L / rateHz, x, y);
+    return stream;
+  }
+
+  /** appends an event; times are relative to the first event. */
+  public void add(int action, long eventTimeMillis, float x, float y) {
+    if (size == actions.length) {
+      int capacity = size * 2;
+      actions = Arrays.copyOf(actions, capacity);
+      eventTimes = Arrays.copyOf(eventTimes, capacity);
+      xs = Arrays.copyOf(xs, capacity);
+      ys = Arrays.copyOf(ys, capacity);
+    }
+    actions[size] = action;
+    eventTimes[size] = eventTimeMillis;
+    xs[size] = x;
+    ys[size] = y;
+    size++;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /** obtains the event at an index, shifted to start at a down time; recycle it after use. */
+  MotionEvent obtain(int index, long downTime) {
+    return MotionEvent.obtain(
+        downTime, downTime + eventTimes[index], actions[index], xs[index], ys[index], 0);
+  }
+}